@@ -0,0 +1,34 @@
+package main.bench;
+
+import data.satellite.TransmissionInstance;
+import main.ModelOptions;
+import main.OverlapMode;
+import main.StationCapacityMode;
+import main.Utils;
+
+// Accès aux instances fournies avec le projet. Le dossier se règle par -Dtransmission.data=...
+// (par défaut, celui du projet principal vu depuis le module de benchmarks).
+final class BenchmarkInstances {
+    static final String DATA_DIR = System.getProperty("transmission.data", "../data/transmission");
+
+    private BenchmarkInstances() {
+    }
+
+    static String path(String name) {
+        return DATA_DIR + "/transmission_" + name + ".json";
+    }
+
+    static TransmissionInstance load(String name) {
+        TransmissionInstance instance = Utils.fromFile(path(name), TransmissionInstance.class);
+        if (instance == null) {
+            throw new IllegalStateException("Instance introuvable : " + path(name));
+        }
+        return instance;
+    }
+
+    static ModelOptions options(String stationCapacity, String overlap) {
+        return new ModelOptions()
+                .setStationCapacityMode(StationCapacityMode.fromName(stationCapacity))
+                .setOverlapMode(OverlapMode.fromName(overlap));
+    }
+}
@@ -0,0 +1,40 @@
+package main.bench;
+
+import data.satellite.TransmissionInstance;
+import main.CompiledInstance;
+import main.InstanceLoader;
+import main.Utils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Temps de lecture d'une instance JSON : arbre d'objets par Utils.fromFile, ou lecture en flux
+// directement sous forme compilée par InstanceLoader.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonLoadBenchmark {
+
+    @Param({"a", "b", "c", "d", "e", "f", "g", "h"})
+    public String instance;
+
+    private String path;
+
+    @Setup
+    public void setup() {
+        this.path = BenchmarkInstances.path(this.instance);
+    }
+
+    @Benchmark
+    public TransmissionInstance fromFile() {
+        return Utils.fromFile(this.path, TransmissionInstance.class);
+    }
+
+    @Benchmark
+    public CompiledInstance streaming() {
+        return InstanceLoader.load(this.path, false);
+    }
+}
@@ -0,0 +1,55 @@
+package main.bench;
+
+import data.satellite.TransmissionInstance;
+import main.ModelOptions;
+import main.TransmissionModel;
+import org.chocosolver.solver.Model;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Temps de construction du modèle Choco, avec le nombre de variables et de contraintes créées
+// (compteurs auxiliaires "variables" et "constraints" du rapport JMH). L'encodage se choisit
+// par -p stationCapacity=points et -p overlap=spans.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelBuildBenchmark {
+
+    @Param({"a", "b", "c", "d", "e", "f", "g", "h"})
+    public String instance;
+
+    @Param({"cumulative"})
+    public String stationCapacity;
+
+    @Param({"pairwise"})
+    public String overlap;
+
+    private TransmissionInstance transmissionInstance;
+    private ModelOptions options;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class ModelSize {
+        public long variables;
+        public long constraints;
+    }
+
+    @Setup
+    public void setup() {
+        this.transmissionInstance = BenchmarkInstances.load(this.instance);
+        this.options = BenchmarkInstances.options(this.stationCapacity, this.overlap);
+    }
+
+    @Benchmark
+    public TransmissionModel build(ModelSize size) {
+        TransmissionModel transmissionModel = new TransmissionModel(this.transmissionInstance, this.options);
+        Model model = transmissionModel.getModel();
+        size.variables = model.getNbVars();
+        size.constraints = model.getNbCstrs();
+        return transmissionModel;
+    }
+}
@@ -0,0 +1,72 @@
+package main.bench;
+
+import data.satellite.TransmissionInstance;
+import main.*;
+import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.Solver;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Temps jusqu'à la première solution (stratégie par défaut, sans démarrage à chaud) et jusqu'à
+// la meilleure solution (comme le mode "cp" : démarrage à chaud glouton puis optimisation)
+// sous une limite de temps fixe. Un nouveau modèle est construit hors mesure avant chaque appel.
+// timeIndexed mesure le mode "lp" (relaxation linéaire et arrondi glouton), construction comprise.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SolveBenchmark {
+
+    @Param({"a", "b", "c", "d", "e", "f", "g", "h"})
+    public String instance;
+
+    @Param({"cumulative"})
+    public String stationCapacity;
+
+    @Param({"pairwise"})
+    public String overlap;
+
+    @Param({"30s"})
+    public String timeLimit;
+
+    private TransmissionInstance transmissionInstance;
+    private ModelOptions options;
+    private TransmissionModel transmissionModel;
+
+    @Setup(Level.Trial)
+    public void loadInstance() {
+        this.transmissionInstance = BenchmarkInstances.load(this.instance);
+        this.options = BenchmarkInstances.options(this.stationCapacity, this.overlap);
+    }
+
+    @Setup(Level.Iteration)
+    public void buildModel() {
+        this.transmissionModel = new TransmissionModel(this.transmissionInstance, this.options);
+        this.transmissionModel.getModel().getSolver().limitTime(this.timeLimit);
+    }
+
+    @Benchmark
+    public Solution firstSolution() {
+        return this.transmissionModel.getModel().getSolver().findSolution();
+    }
+
+    @Benchmark
+    public void bestSolution(Blackhole blackhole) {
+        Solver solver = this.transmissionModel.getModel().getSolver();
+        Schedule greedy = new GreedyScheduler().solve(this.transmissionInstance);
+        if (greedy.getTransmissions().size() == this.transmissionModel.getStartVars().size()) {
+            WarmStart.apply(this.transmissionModel, greedy);
+        }
+        blackhole.consume(solver.findOptimalSolution(this.transmissionModel.getMakespan(), false));
+        blackhole.consume(solver.isObjectiveOptimal());
+    }
+
+    @Benchmark
+    public Schedule timeIndexed() {
+        return new TimeIndexedScheduler(this.timeLimit, 0, 2000).solve(this.transmissionInstance);
+    }
+}
@@ -2,6 +2,7 @@ package data.satellite;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.time.LocalDateTime;
@@ -11,20 +12,29 @@ public class Satellite {
     private final String id;
 
     private final int nbTransmissionChannels;
+
+    // Flux maximal de téléchargement en Mo/min, 0 si non renseigné
+    private final double downlinkRate;
     @JsonIgnore
     private final File[] files;
 
     private final TransmissionWindow[] transmissionWindows;
 
+    public Satellite(String id, int nbTransmissionChannels, File[] files, TransmissionWindow[] transmissionWindows) {
+        this(id, nbTransmissionChannels, 0, files, transmissionWindows);
+    }
+
     @JsonCreator
     public Satellite(
             @JsonProperty("id") String id,
             @JsonProperty("nbTransmissionChannels") int nbTransmissionChannels,
+            @JsonProperty("downlinkRate") double downlinkRate,
             @JsonProperty("files") File[] files,
             @JsonProperty("transmissionWindows") TransmissionWindow[] transmissionWindows
     ) {
         this.id = id;
         this.nbTransmissionChannels = nbTransmissionChannels;
+        this.downlinkRate = downlinkRate;
         this.files = files;
         this.transmissionWindows = transmissionWindows;
     }
@@ -37,6 +47,11 @@ public class Satellite {
         return this.nbTransmissionChannels;
     }
 
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public double getDownlinkRate() {
+        return this.downlinkRate;
+    }
+
     public File[] getFiles() {
         return this.files;
     }
@@ -63,6 +78,7 @@ public class Satellite {
         return "Satellite[" +
                 "id: " + this.id + ", " +
                 "nbTransmissionChannels: " + this.nbTransmissionChannels + ", " +
+                "downlinkRate: " + this.downlinkRate + ", " +
                 "files: " + Arrays.stream(files).map(File::getId).toList() + ", " +
                 "transmissionWindows: " + Arrays.toString(transmissionWindows) +
                 "]";
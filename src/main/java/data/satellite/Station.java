@@ -1,5 +1,7 @@
 package data.satellite;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 public class Station {
@@ -7,12 +9,22 @@ public class Station {
 
     private final int nbChannels;
 
+    // Débit de téléchargement en Mo/min, 0 si non renseigné
+    private final double downlinkRate;
+
+    public Station(String id, int nbChannels) {
+        this(id, nbChannels, 0);
+    }
+
+    @JsonCreator
     public Station(
             @JsonProperty("id") String id,
-            @JsonProperty("nbChannels") int nbChannels
+            @JsonProperty("nbChannels") int nbChannels,
+            @JsonProperty("downlinkRate") double downlinkRate
     ) {
         this.id = id;
         this.nbChannels = nbChannels;
+        this.downlinkRate = downlinkRate;
     }
 
     public String getId() {
@@ -23,11 +35,17 @@ public class Station {
         return this.nbChannels;
     }
 
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public double getDownlinkRate() {
+        return this.downlinkRate;
+    }
+
     @Override
     public String toString() {
         return "Station[" +
                 "id: " + this.id + ", " +
-                "nbChannels: " + this.nbChannels +
+                "nbChannels: " + this.nbChannels + ", " +
+                "downlinkRate: " + this.downlinkRate +
                 "]";
     }
 }
@@ -0,0 +1,205 @@
+package main;
+
+import data.satellite.TransmissionInstance;
+import org.chocosolver.util.tools.TimeUtils;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Mode lot : résout un ensemble d'instances (dossiers, motifs glob ou fichiers) sur un pool de
+// taille bornée, avec un budget de temps global réparti entre les résolutions restantes. Plusieurs
+// solveurs peuvent être comparés (--solver=cp,lp) : chaque couple (instance, solveur) produit une
+// ligne CSV (ou JSON) écrite dès qu'il est terminé.
+public class BatchRunner {
+    private static final String[] COLUMNS = {"instance", "solver", "status", "makespan", "lower_bound", "gap", "monolithic_makespan", "scheduled", "unscheduled", "volume",
+            "violations", "time_limit_ms", "load_ms", "build_ms", "solve_ms", "nodes", "peak_heap_mb"};
+
+    private final CommandLine commandLine;
+    private final ModelOptions options;
+    private final int jobs;
+    private final long budgetMillis;
+    private final long timeLimitMillis;
+    private final List<String> solverNames;
+
+    public BatchRunner(CommandLine commandLine, ModelOptions options) {
+        this.commandLine = commandLine;
+        this.options = options;
+        this.solverNames = Arrays.asList(commandLine.get("solver", "cp").split(","));
+        this.jobs = commandLine.getInt("jobs", defaultJobs(commandLine));
+        this.timeLimitMillis = TimeUtils.convertInMilliseconds(commandLine.get("time-limit", "60s"));
+        this.budgetMillis = commandLine.has("budget") ? TimeUtils.convertInMilliseconds(commandLine.get("budget", "")) : Long.MAX_VALUE;
+    }
+
+    // Budget CPU : autant de résolutions simultanées que de cœurs, divisés par le nombre de threads de chaque résolution
+    private static int defaultJobs(CommandLine commandLine) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int threadsPerJob = 1;
+        if (Arrays.asList(commandLine.get("solver", "cp").split(",")).contains("portfolio")) {
+            threadsPerJob *= commandLine.getInt("workers", cores);
+        }
+        if (commandLine.has("decompose")) {
+            threadsPerJob *= commandLine.getInt("threads", cores);
+        }
+        return Math.max(1, cores / threadsPerJob);
+    }
+
+    public void run() throws IOException, InterruptedException {
+        List<Path> paths = expand(this.commandLine.getPositionals().isEmpty()
+                ? List.of("data/transmission") : this.commandLine.getPositionals());
+        String output = this.commandLine.get("output", "batch_results.csv");
+        boolean json = output.endsWith(".json") || output.endsWith(".jsonl");
+        System.out.println("Lot de " + paths.size() + " instance(s) x " + this.solverNames.size() + " solveur(s), " + this.jobs + " résolution(s) simultanée(s)"
+                + (this.budgetMillis == Long.MAX_VALUE ? "" : ", budget " + this.budgetMillis + " ms") + ", résultats dans " + output);
+
+        long deadline = this.budgetMillis == Long.MAX_VALUE ? Long.MAX_VALUE : System.currentTimeMillis() + this.budgetMillis;
+        AtomicInteger pending = new AtomicInteger(paths.size() * this.solverNames.size());
+        ExecutorService executor = Executors.newFixedThreadPool(this.jobs);
+        try (PrintWriter writer = new PrintWriter(new BufferedWriter(new FileWriter(output)))) {
+            if (!json) {
+                writer.println(String.join(",", COLUMNS));
+            }
+            List<Future<?>> futures = new ArrayList<>();
+            for (Path path : paths) {
+                for (String solverName : this.solverNames) {
+                    futures.add(executor.submit(() -> {
+                        Map<String, Object> row = solveOne(path, solverName, deadline, pending);
+                        synchronized (writer) {
+                            writer.println(json ? Utils.MAPPER.writeValueAsString(row) : toCsv(row));
+                            writer.flush();
+                        }
+                        return null;
+                    }));
+                }
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    e.getCause().printStackTrace();
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Map<String, Object> solveOne(Path path, String solverName, long deadline, AtomicInteger pending) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String column : COLUMNS) {
+            row.put(column, "");
+        }
+        row.put("instance", path.toString());
+        row.put("solver", solverName);
+        // Part du budget restant : les instances non commencées se partagent les emplacements du pool
+        int remaining = pending.getAndDecrement();
+        long timeLimit = this.timeLimitMillis;
+        if (deadline != Long.MAX_VALUE) {
+            long left = deadline - System.currentTimeMillis();
+            timeLimit = Math.min(timeLimit, left * Math.min(this.jobs, remaining) / remaining);
+        }
+        if (timeLimit <= 0) {
+            row.put("status", "skipped");
+            return row;
+        }
+        row.put("time_limit_ms", timeLimit);
+        if (this.jobs == 1) {
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                pool.resetPeakUsage();
+            }
+        }
+        try {
+            long loadStart = System.currentTimeMillis();
+            CompiledInstance compiled = InstanceLoader.load(path.toString(), this.commandLine.has("cache"));
+            if (compiled == null) {
+                row.put("status", "error");
+                return row;
+            }
+            TransmissionInstance instance = compiled.getInstance();
+            row.put("load_ms", System.currentTimeMillis() - loadStart);
+
+            // Choco interprète "m" comme des minutes : la limite est exprimée en secondes décimales
+            ScheduleSolver scheduleSolver = TransmissionScheduler.buildSolver(this.commandLine, solverName, this.options,
+                    String.format(Locale.ROOT, "%.3fs", timeLimit / 1000.0));
+            row.put("solver", scheduleSolver.getName());
+            long solveStart = System.currentTimeMillis();
+            Schedule schedule = scheduleSolver.solve(instance);
+            long elapsed = System.currentTimeMillis() - solveStart;
+            if (schedule == null) {
+                row.put("status", "none");
+                row.put("solve_ms", elapsed);
+            } else {
+                boolean partial = schedule.isPartial() && this.options.getObjectiveMode() == ObjectiveMode.MAKESPAN;
+                row.put("status", partial ? "incomplete" : schedule.isProvenOptimal() ? "optimal" : "feasible");
+                row.put("makespan", schedule.getMakespan());
+                if (!partial && schedule.getLowerBound() >= 0) {
+                    row.put("lower_bound", schedule.getLowerBound());
+                    row.put("gap", String.format(Locale.ROOT, "%.4f", schedule.getGap()));
+                }
+                if (schedule.getMonolithicMakespan() >= 0) {
+                    row.put("monolithic_makespan", schedule.getMonolithicMakespan());
+                }
+                row.put("scheduled", schedule.getTransmissions().size());
+                row.put("unscheduled", schedule.getUnscheduledFileIds().size());
+                row.put("volume", schedule.getVolume(compiled));
+                row.put("violations", ScheduleValidator.validate(instance, schedule,
+                        this.options.getObjectiveMode() == ObjectiveMode.VOLUME).size());
+                row.put("build_ms", schedule.getBuildTimeMillis());
+                row.put("solve_ms", elapsed - schedule.getBuildTimeMillis());
+                row.put("nodes", schedule.getNodeCount());
+            }
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            row.put("status", "error");
+        }
+        // Avec plusieurs résolutions simultanées, il s'agit du pic du processus pendant la résolution
+        long peakHeap = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peakHeap += pool.getPeakUsage().getUsed();
+            }
+        }
+        row.put("peak_heap_mb", peakHeap / (1024 * 1024));
+        return row;
+    }
+
+    private static String toCsv(Map<String, Object> row) {
+        StringJoiner joiner = new StringJoiner(",");
+        for (Object value : row.values()) {
+            String text = String.valueOf(value);
+            joiner.add(text.contains(",") || text.contains("\"") ? "\"" + text.replace("\"", "\"\"") + "\"" : text);
+        }
+        return joiner.toString();
+    }
+
+    // Dossiers (tous leurs .json), motifs glob sur le nom de fichier (ex. data/transmission/transmission_*.json) et fichiers
+    static List<Path> expand(List<String> specs) throws IOException {
+        List<Path> paths = new ArrayList<>();
+        for (String spec : specs) {
+            Path path = Paths.get(spec);
+            String glob = null;
+            if (Files.isDirectory(path)) {
+                glob = "*.json";
+            } else if (spec.contains("*") || spec.contains("?") || spec.contains("[") || spec.contains("{")) {
+                glob = path.getFileName().toString();
+                path = path.getParent() == null ? Paths.get(".") : path.getParent();
+            }
+            if (glob == null) {
+                paths.add(path);
+                continue;
+            }
+            List<Path> matches = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(path, glob)) {
+                stream.forEach(matches::add);
+            }
+            Collections.sort(matches);
+            paths.addAll(matches);
+        }
+        return paths;
+    }
+}
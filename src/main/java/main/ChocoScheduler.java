@@ -0,0 +1,138 @@
+package main;
+
+import data.satellite.TransmissionInstance;
+import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.Solver;
+
+import java.util.Collections;
+
+// Résolution exacte par le modèle Choco, éventuellement démarrée à chaud par l'heuristique gloutonne.
+// Pour l'objectif volume, le planning glouton est réduit aux transmissions terminées avant la fin de
+// l'horizon : même partiel, il est alors une solution du modèle.
+public class ChocoScheduler implements ScheduleSolver {
+    private final ModelOptions options;
+    private final String timeLimit;
+    private final boolean warmStart;
+    private final SearchOptions search;
+    // Magasin de plannings des variantes déjà résolues, ou null
+    private SolutionStore store;
+
+    public ChocoScheduler(ModelOptions options, String timeLimit, boolean warmStart) {
+        this(options, timeLimit, warmStart, new SearchOptions());
+    }
+
+    public ChocoScheduler(ModelOptions options, String timeLimit, boolean warmStart, SearchOptions search) {
+        this.options = options;
+        this.timeLimit = timeLimit;
+        this.warmStart = warmStart;
+        this.search = search;
+    }
+
+    public SolutionStore getStore() {
+        return this.store;
+    }
+
+    public ChocoScheduler setStore(SolutionStore store) {
+        this.store = store;
+        return this;
+    }
+
+    @Override
+    public String getName() {
+        return "cp";
+    }
+
+    @Override
+    public Schedule solve(TransmissionInstance instance) {
+        TransmissionModel transmissionModel = new TransmissionModel(instance, this.options);
+        System.out.println("Modèle construit en " + transmissionModel.getBuildTimeMillis() + " ms (" + this.options + ")");
+        Solver solver = transmissionModel.getModel().getSolver();
+        CompiledInstance compiled = transmissionModel.getCompiled();
+        boolean volume = transmissionModel.isMaximizing();
+        // Les bornes du makespan ne servent pas à l'objectif volume
+        LowerBounds bounds = volume ? null : LowerBounds.of(compiled);
+        if (bounds != null) {
+            System.out.println("Prétraitement : " + bounds);
+        }
+        // Planning de démarrage à chaud, solution du modèle : rendu si la recherche n'en retrouve aucune
+        Schedule warmSchedule = null;
+        if (this.warmStart) {
+            long greedyStart = System.currentTimeMillis();
+            Schedule greedy = new GreedyScheduler().solve(instance);
+            if (volume) {
+                greedy = greedy.truncate(transmissionModel.getUntil());
+            }
+            // Planning d'une variante proche réparé sur cette instance, retenu s'il fait mieux que le glouton
+            Schedule previous = this.store == null ? null : this.store.lookup(compiled);
+            if (previous != null) {
+                Schedule repaired = new GreedyScheduler().repair(compiled, previous);
+                if (volume) {
+                    repaired = repaired.truncate(transmissionModel.getUntil());
+                }
+                System.out.println("Planning réparé : " + repaired.getTransmissions().size() + " transmission(s), makespan "
+                        + repaired.getMakespan());
+                if (volume ? repaired.getVolume(compiled) >= greedy.getVolume(compiled)
+                        : repaired.getTransmissions().size() > greedy.getTransmissions().size()
+                        || (repaired.getTransmissions().size() == greedy.getTransmissions().size()
+                        && repaired.getMakespan() <= greedy.getMakespan())) {
+                    greedy = repaired;
+                }
+            }
+            if (volume) {
+                System.out.println("Démarrage à chaud : volume glouton " + greedy.getVolume(compiled) +
+                        " Mo en " + (System.currentTimeMillis() - greedyStart) + " ms");
+                SolutionStream.publish(compiled, greedy, "greedy");
+                WarmStart.apply(transmissionModel, greedy, this.search);
+                warmSchedule = greedy;
+            } else if (greedy.getTransmissions().size() == transmissionModel.getStartVars().size()) {
+                // Un planning glouton partiel ne borne pas le makespan du modèle complet
+                System.out.println("Démarrage à chaud : makespan glouton " + greedy.getMakespan() +
+                        " minutes en " + (System.currentTimeMillis() - greedyStart) + " ms");
+                // Le planning glouton atteint la borne : il est optimal, inutile de lancer la recherche
+                if (bounds.isReachedBy(greedy)) {
+                    bounds.complete(greedy);
+                    greedy.setBuildTimeMillis(transmissionModel.getBuildTimeMillis());
+                    if (this.store != null) {
+                        this.store.save(compiled, greedy);
+                    }
+                    return greedy;
+                }
+                SolutionStream.publish(compiled, greedy, "greedy");
+                WarmStart.apply(transmissionModel, greedy, this.search);
+                warmSchedule = greedy;
+            }
+        }
+        if (warmSchedule == null) {
+            this.search.apply(transmissionModel, Collections.emptyMap());
+        }
+        if (bounds != null) {
+            bounds.apply(transmissionModel);
+        }
+
+        solver.plugMonitor(new ImprovementLogger(getName(), transmissionModel.getObjective()));
+        SolutionStream.attach(transmissionModel, getName());
+        SolverTelemetry telemetry = SolverTelemetry.attach(transmissionModel, getName());
+
+        // Limitation du temps de résolution
+        solver.limitTime(this.timeLimit);
+
+        // Recherche de la solution optimale
+        Solution solution = solver.findOptimalSolution(transmissionModel.getObjective(), volume);
+        telemetry.finish();
+        if (solution == null && warmSchedule == null) {
+            return null;
+        }
+        // Limite de temps atteinte avant de retrouver le planning de démarrage, qui reste le meilleur connu
+        Schedule schedule = solution == null ? warmSchedule : Schedule.fromSolution(transmissionModel, solution);
+        schedule.setProvenOptimal(solution != null && solver.isObjectiveOptimal());
+        if (bounds != null) {
+            bounds.complete(schedule);
+        }
+        schedule.setBuildTimeMillis(transmissionModel.getBuildTimeMillis());
+        schedule.setNodeCount(solver.getNodeCount());
+        if (this.store != null) {
+            this.store.save(compiled, schedule);
+        }
+        return schedule;
+    }
+}
@@ -0,0 +1,48 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Lecture minimaliste des arguments : options "--cle=valeur", drapeaux "--cle" et arguments positionnels.
+public class CommandLine {
+    private final Map<String, String> options = new HashMap<>();
+    private final List<String> positionals = new ArrayList<>();
+
+    public CommandLine(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                int eq = arg.indexOf('=');
+                if (eq < 0) {
+                    this.options.put(arg.substring(2), "true");
+                } else {
+                    this.options.put(arg.substring(2, eq), arg.substring(eq + 1));
+                }
+            } else {
+                this.positionals.add(arg);
+            }
+        }
+    }
+
+    public boolean has(String key) {
+        return this.options.containsKey(key);
+    }
+
+    public String get(String key, String defaultValue) {
+        return this.options.getOrDefault(key, defaultValue);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = this.options.get(key);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    public List<String> getPositionals() {
+        return this.positionals;
+    }
+
+    public String getPositional(int i, String defaultValue) {
+        return i < this.positionals.size() ? this.positionals.get(i) : defaultValue;
+    }
+}
@@ -0,0 +1,475 @@
+package main;
+
+import data.satellite.*;
+
+import java.util.*;
+
+// Représentation compilée d'une instance : tout est converti une seule fois en tableaux d'entiers
+// indexés (minutes depuis BASE_TIME, durées, fenêtres, stations, prédécesseurs), pour que le modèle
+// et les heuristiques bouclent sans conversion de dates ni recherche par identifiant.
+// Les fichiers sont numérotés satellite par satellite, dans l'ordre de l'instance ; les fenêtres
+// aussi, l'indice global de la fenêtre w du satellite k étant getSatelliteWindowOffset(k) + w.
+// Une instance compilée peut être obtenue depuis les objets de l'instance, ou directement par
+// InstanceLoader ; les objets ne sont alors reconstruits qu'à la demande (getInstance()).
+public class CompiledInstance {
+    // Dernière instance compilée, réutilisée tant que l'on compile le même objet (modèles du
+    // portefeuille, démarrage à chaud glouton...)
+    private static CompiledInstance last;
+
+    private TransmissionInstance instance;
+    private final String id;
+
+    private final String[] stationIds;
+    private final int[] stationChannels;
+    // Débits déclarés en Mo/min, 0 si non renseignés
+    private final double[] stationRate;
+
+    private final String[] satelliteIds;
+    private final int[] satelliteChannels;
+    private final double[] satelliteRate;
+    // Fichiers du satellite k : [satelliteFileOffset[k], satelliteFileOffset[k + 1])
+    private final int[] satelliteFileOffset;
+    // Fenêtres du satellite k : [satelliteWindowOffset[k], satelliteWindowOffset[k + 1])
+    private final int[] satelliteWindowOffset;
+
+    private final int[] windowStart;
+    private final int[] windowEnd;
+    private final int[] windowStation;
+    // Débit d'une transmission par la fenêtre (TransmissionModel.rate), et vrai si toutes les fenêtres
+    // ont le même débit (la durée d'un fichier ne dépend alors pas de la fenêtre choisie)
+    private final double[] windowRate;
+    private final boolean uniformRates;
+
+    private final String[] fileIds;
+    private final int[] fileSatellite;
+    private final int[] size;
+    private final int[] release;
+    // Durée la plus courte du fichier sur les fenêtres de son satellite : durée exacte si les débits
+    // sont uniformes, relaxation valide pour les bornes sinon (getDuration(f, g) donne la durée exacte)
+    private final int[] duration;
+    // Prédécesseurs et successeurs au format CSR : ceux du fichier f sont predecessors[predecessorOffset[f] ..
+    // predecessorOffset[f + 1]), de même pour les successeurs
+    private final int[] predecessorOffset;
+    private final int[] predecessors;
+    private final int[] successorOffset;
+    private final int[] successors;
+    // Prédécesseurs absents de l'instance, sous la forme {fichier, prédécesseur}
+    private final List<String[]> missingPredecessors = new ArrayList<>();
+
+    private final Map<String, Integer> fileIndex = new HashMap<>();
+    private final Map<String, Integer> stationIndex = new HashMap<>();
+    private final int horizon;
+
+    public static synchronized CompiledInstance of(TransmissionInstance instance) {
+        if (last == null || last.instance != instance) {
+            last = compile(instance);
+        }
+        return last;
+    }
+
+    public static CompiledInstance compile(TransmissionInstance instance) {
+        Builder builder = new Builder().setId(instance.getId());
+        for (Station station : instance.getStations()) {
+            builder.addStation(station.getId(), station.getNbChannels(), station.getDownlinkRate());
+        }
+        for (Satellite satellite : instance.getSatellites()) {
+            builder.addSatellite(satellite.getId(), satellite.getNbTransmissionChannels(), satellite.getDownlinkRate());
+            for (data.satellite.File file : satellite.getFiles()) {
+                builder.addFile(file.getId(), file.getSize(), TransmissionModel.toMinutes(file.getReleaseDateTime()),
+                        file.getPredecessors());
+            }
+            for (TransmissionWindow tw : satellite.getTransmissionWindows()) {
+                builder.addWindow(tw.getStationId(), TransmissionModel.toMinutes(tw.getStart()), TransmissionModel.toMinutes(tw.getEnd()));
+            }
+        }
+        CompiledInstance compiled = builder.build();
+        compiled.instance = instance;
+        return compiled;
+    }
+
+    private CompiledInstance(Builder builder) {
+        this.id = builder.id;
+        this.stationIds = builder.stationIds.toArray(new String[0]);
+        this.stationChannels = Arrays.copyOf(builder.stationChannels, this.stationIds.length);
+        this.stationRate = Arrays.copyOf(builder.stationRate, this.stationIds.length);
+        for (int s = 0; s < this.stationIds.length; s++) {
+            this.stationIndex.put(this.stationIds[s], s);
+        }
+
+        int nbSatellites = builder.satelliteIds.size();
+        this.satelliteIds = builder.satelliteIds.toArray(new String[0]);
+        this.satelliteChannels = Arrays.copyOf(builder.satelliteChannels, nbSatellites);
+        this.satelliteRate = Arrays.copyOf(builder.satelliteRate, nbSatellites);
+        this.satelliteFileOffset = Arrays.copyOf(builder.satelliteFileOffset, nbSatellites + 1);
+        this.satelliteWindowOffset = Arrays.copyOf(builder.satelliteWindowOffset, nbSatellites + 1);
+
+        int nbWindows = builder.windowStationIds.size();
+        this.windowStart = Arrays.copyOf(builder.windowStart, nbWindows);
+        this.windowEnd = Arrays.copyOf(builder.windowEnd, nbWindows);
+        this.windowStation = new int[nbWindows];
+        this.windowRate = new double[nbWindows];
+        int maxWindowEnd = 0;
+        boolean uniform = true;
+        for (int k = 0; k < nbSatellites; k++) {
+            for (int g = this.satelliteWindowOffset[k]; g < this.satelliteWindowOffset[k + 1]; g++) {
+                Integer s = this.stationIndex.get(builder.windowStationIds.get(g));
+                if (s == null) {
+                    throw new IllegalArgumentException("Station inconnue : " + builder.windowStationIds.get(g));
+                }
+                this.windowStation[g] = s;
+                this.windowRate[g] = TransmissionModel.rate(this.satelliteRate[k], this.stationRate[s]);
+                uniform &= this.windowRate[g] == this.windowRate[0];
+                maxWindowEnd = Math.max(maxWindowEnd, this.windowEnd[g]);
+            }
+        }
+        this.horizon = maxWindowEnd;
+        this.uniformRates = uniform;
+
+        int nbFiles = builder.fileIds.size();
+        this.fileIds = builder.fileIds.toArray(new String[0]);
+        this.size = Arrays.copyOf(builder.size, nbFiles);
+        this.release = Arrays.copyOf(builder.release, nbFiles);
+        this.duration = new int[nbFiles];
+        this.fileSatellite = new int[nbFiles];
+        for (int k = 0; k < nbSatellites; k++) {
+            Arrays.fill(this.fileSatellite, this.satelliteFileOffset[k], this.satelliteFileOffset[k + 1], k);
+        }
+        for (int k = 0; k < nbSatellites; k++) {
+            // Débit le plus élevé des fenêtres du satellite (celui du satellite seul s'il n'en a aucune)
+            double fastest = TransmissionModel.rate(this.satelliteRate[k], 0);
+            if (this.satelliteWindowOffset[k] < this.satelliteWindowOffset[k + 1]) {
+                fastest = 0;
+                for (int g = this.satelliteWindowOffset[k]; g < this.satelliteWindowOffset[k + 1]; g++) {
+                    fastest = Math.max(fastest, this.windowRate[g]);
+                }
+            }
+            for (int f = this.satelliteFileOffset[k]; f < this.satelliteFileOffset[k + 1]; f++) {
+                this.duration[f] = TransmissionModel.duration(this.size[f], fastest);
+            }
+        }
+        for (int f = 0; f < nbFiles; f++) {
+            this.fileIndex.put(this.fileIds[f], f);
+        }
+
+        // Prédécesseurs : comptage puis remplissage des deux tableaux CSR
+        this.predecessorOffset = new int[nbFiles + 1];
+        int[] successorCount = new int[nbFiles + 1];
+        for (int f = 0; f < nbFiles; f++) {
+            int known = 0;
+            String[] preds = builder.predecessorIds.get(f);
+            if (preds != null) {
+                for (String predId : preds) {
+                    Integer p = this.fileIndex.get(predId);
+                    if (p == null) {
+                        this.missingPredecessors.add(new String[]{this.fileIds[f], predId});
+                    } else {
+                        known++;
+                        successorCount[p + 1]++;
+                    }
+                }
+            }
+            this.predecessorOffset[f + 1] = this.predecessorOffset[f] + known;
+        }
+        this.predecessors = new int[this.predecessorOffset[nbFiles]];
+        this.successorOffset = new int[nbFiles + 1];
+        for (int f = 0; f < nbFiles; f++) {
+            this.successorOffset[f + 1] = this.successorOffset[f] + successorCount[f + 1];
+        }
+        this.successors = new int[this.successorOffset[nbFiles]];
+        int[] successorFill = this.successorOffset.clone();
+        for (int f = 0; f < nbFiles; f++) {
+            String[] preds = builder.predecessorIds.get(f);
+            if (preds == null)
+                continue;
+            int pos = this.predecessorOffset[f];
+            for (String predId : preds) {
+                Integer p = this.fileIndex.get(predId);
+                if (p != null) {
+                    this.predecessors[pos++] = p;
+                    this.successors[successorFill[p]++] = f;
+                }
+            }
+        }
+    }
+
+    // Vrai si le fichier f peut tenir dans la fenêtre globale g une fois disponible
+    public boolean fits(int f, int g) {
+        return Math.max(this.release[f], this.windowStart[g]) + getDuration(f, g) <= this.windowEnd[g];
+    }
+
+    // Durée de transmission du fichier f par la fenêtre globale g
+    public int getDuration(int f, int g) {
+        return this.uniformRates ? this.duration[f] : TransmissionModel.duration(this.size[f], this.windowRate[g]);
+    }
+
+    // Objets de l'instance, reconstruits depuis les tableaux si l'instance a été chargée directement
+    // sous forme compilée (les dates sont alors à la minute près)
+    public synchronized TransmissionInstance getInstance() {
+        if (this.instance == null) {
+            this.instance = materialize();
+            synchronized (CompiledInstance.class) {
+                last = this;
+            }
+        }
+        return this.instance;
+    }
+
+    private TransmissionInstance materialize() {
+        Map<String, List<String>> missing = new HashMap<>();
+        for (String[] pair : this.missingPredecessors) {
+            missing.computeIfAbsent(pair[0], key -> new ArrayList<>()).add(pair[1]);
+        }
+        Station[] stations = new Station[this.stationIds.length];
+        for (int s = 0; s < stations.length; s++) {
+            stations[s] = new Station(this.stationIds[s], this.stationChannels[s], this.stationRate[s]);
+        }
+        Satellite[] satellites = new Satellite[this.satelliteIds.length];
+        for (int k = 0; k < satellites.length; k++) {
+            data.satellite.File[] files = new data.satellite.File[this.satelliteFileOffset[k + 1] - this.satelliteFileOffset[k]];
+            for (int f = this.satelliteFileOffset[k]; f < this.satelliteFileOffset[k + 1]; f++) {
+                List<String> preds = new ArrayList<>();
+                for (int i = this.predecessorOffset[f]; i < this.predecessorOffset[f + 1]; i++) {
+                    preds.add(this.fileIds[this.predecessors[i]]);
+                }
+                preds.addAll(missing.getOrDefault(this.fileIds[f], Collections.emptyList()));
+                files[f - this.satelliteFileOffset[k]] = new data.satellite.File(this.fileIds[f], this.size[f],
+                        TransmissionModel.BASE_TIME.plusMinutes(this.release[f]), preds.toArray(new String[0]));
+            }
+            TransmissionWindow[] windows = new TransmissionWindow[this.satelliteWindowOffset[k + 1] - this.satelliteWindowOffset[k]];
+            for (int g = this.satelliteWindowOffset[k]; g < this.satelliteWindowOffset[k + 1]; g++) {
+                windows[g - this.satelliteWindowOffset[k]] = new TransmissionWindow(this.satelliteIds[k],
+                        this.stationIds[this.windowStation[g]], TransmissionModel.BASE_TIME.plusMinutes(this.windowStart[g]),
+                        TransmissionModel.BASE_TIME.plusMinutes(this.windowEnd[g]));
+            }
+            satellites[k] = new Satellite(this.satelliteIds[k], this.satelliteChannels[k], this.satelliteRate[k], files, windows);
+        }
+        return new TransmissionInstance(this.id, stations, satellites);
+    }
+
+    public String getId() {
+        return this.id;
+    }
+
+    public int getNbFiles() {
+        return this.fileIds.length;
+    }
+
+    public int getNbSatellites() {
+        return this.satelliteIds.length;
+    }
+
+    public int getNbStations() {
+        return this.stationIds.length;
+    }
+
+    public int getNbWindows() {
+        return this.windowStart.length;
+    }
+
+    public String getFileId(int f) {
+        return this.fileIds[f];
+    }
+
+    // Indice du fichier, ou -1 s'il n'appartient pas à l'instance
+    public int indexOfFile(String fileId) {
+        Integer f = this.fileIndex.get(fileId);
+        return f == null ? -1 : f;
+    }
+
+    public int indexOfStation(String stationId) {
+        return this.stationIndex.get(stationId);
+    }
+
+    public Map<String, Integer> getStationIndex() {
+        return this.stationIndex;
+    }
+
+    public String getSatelliteId(int k) {
+        return this.satelliteIds[k];
+    }
+
+    public String getStationId(int s) {
+        return this.stationIds[s];
+    }
+
+    public int[] getStationChannels() {
+        return this.stationChannels;
+    }
+
+    public int[] getSatelliteChannels() {
+        return this.satelliteChannels;
+    }
+
+    public double[] getStationRate() {
+        return this.stationRate;
+    }
+
+    public double[] getSatelliteRate() {
+        return this.satelliteRate;
+    }
+
+    public double[] getWindowRate() {
+        return this.windowRate;
+    }
+
+    public boolean isUniformRates() {
+        return this.uniformRates;
+    }
+
+    public int[] getSatelliteFileOffset() {
+        return this.satelliteFileOffset;
+    }
+
+    public int[] getSatelliteWindowOffset() {
+        return this.satelliteWindowOffset;
+    }
+
+    public int[] getWindowStart() {
+        return this.windowStart;
+    }
+
+    public int[] getWindowEnd() {
+        return this.windowEnd;
+    }
+
+    public int[] getWindowStation() {
+        return this.windowStation;
+    }
+
+    public int[] getFileSatellite() {
+        return this.fileSatellite;
+    }
+
+    public int[] getSize() {
+        return this.size;
+    }
+
+    public int[] getRelease() {
+        return this.release;
+    }
+
+    public int[] getDuration() {
+        return this.duration;
+    }
+
+    public int[] getPredecessorOffset() {
+        return this.predecessorOffset;
+    }
+
+    public int[] getPredecessors() {
+        return this.predecessors;
+    }
+
+    public int[] getSuccessorOffset() {
+        return this.successorOffset;
+    }
+
+    public int[] getSuccessors() {
+        return this.successors;
+    }
+
+    public List<String[]> getMissingPredecessors() {
+        return this.missingPredecessors;
+    }
+
+    // Fin maximale d'une fenêtre sur tous les satellites
+    public int getHorizon() {
+        return this.horizon;
+    }
+
+    // Construction incrémentale : stations, puis chaque satellite suivi de ses fichiers et de ses
+    // fenêtres. Les stations et les prédécesseurs sont résolus par identifiant dans build(), ce qui
+    // permet de les déclarer dans n'importe quel ordre.
+    public static class Builder {
+        private String id;
+        private final List<String> stationIds = new ArrayList<>();
+        private int[] stationChannels = new int[8];
+        private double[] stationRate = new double[8];
+        private final List<String> satelliteIds = new ArrayList<>();
+        private int[] satelliteChannels = new int[8];
+        private double[] satelliteRate = new double[8];
+        private int[] satelliteFileOffset = new int[9];
+        private int[] satelliteWindowOffset = new int[9];
+        private final List<String> windowStationIds = new ArrayList<>();
+        private int[] windowStart = new int[16];
+        private int[] windowEnd = new int[16];
+        private final List<String> fileIds = new ArrayList<>();
+        private int[] size = new int[16];
+        private int[] release = new int[16];
+        private final List<String[]> predecessorIds = new ArrayList<>();
+
+        public Builder setId(String id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder addStation(String stationId, int nbChannels) {
+            return addStation(stationId, nbChannels, 0);
+        }
+
+        // Station de débit donné en Mo/min (0 : non renseigné)
+        public Builder addStation(String stationId, int nbChannels, double downlinkRate) {
+            this.stationChannels = grow(this.stationChannels, this.stationIds.size());
+            this.stationRate = grow(this.stationRate, this.stationIds.size());
+            this.stationChannels[this.stationIds.size()] = nbChannels;
+            this.stationRate[this.stationIds.size()] = downlinkRate;
+            this.stationIds.add(stationId);
+            return this;
+        }
+
+        public Builder addSatellite(String satelliteId, int nbTransmissionChannels) {
+            return addSatellite(satelliteId, nbTransmissionChannels, 0);
+        }
+
+        public Builder addSatellite(String satelliteId, int nbTransmissionChannels, double downlinkRate) {
+            int k = this.satelliteIds.size();
+            this.satelliteChannels = grow(this.satelliteChannels, k);
+            this.satelliteRate = grow(this.satelliteRate, k);
+            this.satelliteRate[k] = downlinkRate;
+            this.satelliteFileOffset = grow(this.satelliteFileOffset, k + 1);
+            this.satelliteWindowOffset = grow(this.satelliteWindowOffset, k + 1);
+            this.satelliteChannels[k] = nbTransmissionChannels;
+            this.satelliteFileOffset[k + 1] = this.fileIds.size();
+            this.satelliteWindowOffset[k + 1] = this.windowStationIds.size();
+            this.satelliteIds.add(satelliteId);
+            return this;
+        }
+
+        // Fichier du dernier satellite ajouté (release en minutes depuis BASE_TIME)
+        public Builder addFile(String fileId, int size, int release, String[] predecessors) {
+            int f = this.fileIds.size();
+            this.size = grow(this.size, f);
+            this.release = grow(this.release, f);
+            this.size[f] = size;
+            this.release[f] = release;
+            this.fileIds.add(fileId);
+            this.predecessorIds.add(predecessors);
+            this.satelliteFileOffset[this.satelliteIds.size()] = f + 1;
+            return this;
+        }
+
+        // Fenêtre du dernier satellite ajouté (dates en minutes depuis BASE_TIME)
+        public Builder addWindow(String stationId, int start, int end) {
+            int g = this.windowStationIds.size();
+            this.windowStart = grow(this.windowStart, g);
+            this.windowEnd = grow(this.windowEnd, g);
+            this.windowStart[g] = start;
+            this.windowEnd[g] = end;
+            this.windowStationIds.add(stationId);
+            this.satelliteWindowOffset[this.satelliteIds.size()] = g + 1;
+            return this;
+        }
+
+        public CompiledInstance build() {
+            return new CompiledInstance(this);
+        }
+
+        private static int[] grow(int[] array, int index) {
+            return index < array.length ? array : Arrays.copyOf(array, Math.max(2 * array.length, index + 1));
+        }
+
+        private static double[] grow(double[] array, int index) {
+            return index < array.length ? array : Arrays.copyOf(array, Math.max(2 * array.length, index + 1));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package main;
+
+import data.satellite.TransmissionInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Résolution par décomposition : chaque composante indépendante de l'instance est résolue par
+// le moteur délégué sur un pool de threads, puis les plannings sont fusionnés. Le makespan global
+// est le maximum des makespans des composantes.
+public class DecomposedScheduler implements ScheduleSolver {
+    private final ScheduleSolver delegate;
+    private final int threads;
+
+    public DecomposedScheduler(ScheduleSolver delegate, int threads) {
+        this.delegate = delegate;
+        this.threads = threads;
+    }
+
+    @Override
+    public String getName() {
+        return "decomposed(" + this.delegate.getName() + ")";
+    }
+
+    @Override
+    public Schedule solve(TransmissionInstance instance) {
+        List<TransmissionInstance> components = InstanceDecomposer.decompose(instance);
+        System.out.println("Décomposition de " + instance.getId() + " en " + components.size() + " composante(s) indépendante(s)");
+        if (components.size() == 1) {
+            return this.delegate.solve(instance);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.threads, components.size()));
+        try {
+            List<Future<Schedule>> futures = new ArrayList<>();
+            for (TransmissionInstance component : components) {
+                futures.add(executor.submit(() -> this.delegate.solve(component)));
+            }
+            Schedule merged = new Schedule();
+            boolean provenOptimal = true;
+            // Le makespan global est le plus grand des makespans : la borne aussi
+            int lowerBound = 0;
+            for (int i = 0; i < futures.size(); i++) {
+                Schedule part = futures.get(i).get();
+                if (part == null) {
+                    System.err.println("Aucune solution pour la composante " + components.get(i).getId());
+                    return null;
+                }
+                for (ScheduledTransmission transmission : part.getTransmissions()) {
+                    merged.add(transmission);
+                }
+                merged.addUnscheduledOf(part);
+                provenOptimal &= part.isProvenOptimal();
+                lowerBound = part.getLowerBound() < 0 || lowerBound < 0 ? -1 : Math.max(lowerBound, part.getLowerBound());
+                merged.setBuildTimeMillis(merged.getBuildTimeMillis() + part.getBuildTimeMillis());
+                merged.setNodeCount(merged.getNodeCount() + part.getNodeCount());
+            }
+            merged.setLowerBound(lowerBound);
+            merged.setProvenOptimal(provenOptimal || (lowerBound >= 0 && merged.getMakespan() <= lowerBound));
+            return merged;
+        } catch (InterruptedException | ExecutionException e) {
+            e.printStackTrace();
+            return null;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package main;
+
+import data.satellite.TransmissionInstance;
+import org.chocosolver.solver.Model;
+
+import java.io.PrintStream;
+import java.util.List;
+
+// Comparaison de la taille et du temps de construction de plusieurs variantes de formulation.
+public class FormulationReport {
+
+    public static void print(TransmissionInstance instance, List<ModelOptions> variants, PrintStream out) {
+        out.println("Comparaison des formulations pour l'instance " + instance.getId());
+        out.println(String.format("%-82s %12s %12s %12s", "Variante", "Variables", "Contraintes", "Build (ms)"));
+        for (ModelOptions options : variants) {
+            TransmissionModel transmissionModel = new TransmissionModel(instance, options);
+            Model model = transmissionModel.getModel();
+            out.println(String.format("%-82s %12d %12d %12d",
+                    options, model.getNbVars(), model.getNbCstrs(), transmissionModel.getBuildTimeMillis()));
+        }
+    }
+}
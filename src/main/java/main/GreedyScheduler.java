@@ -0,0 +1,253 @@
+package main;
+
+import data.satellite.TransmissionInstance;
+
+import java.util.*;
+
+// Heuristique constructive de liste : les fichiers sont pris dans un ordre topologique des
+// prédécesseurs (à égalité, par date de disponibilité croissante) et placés au plus tôt dans
+// la fenêtre qui les termine le plus tôt, en respectant les canaux des satellites et des stations.
+// Chaque fenêtre utilisée d'un satellite occupe un intervalle contigu disjoint de celui des autres
+// fenêtres du satellite, ce qui rend le planning valide pour tous les encodages du modèle Choco.
+public class GreedyScheduler implements ScheduleSolver {
+
+    @Override
+    public String getName() {
+        return "greedy";
+    }
+
+    @Override
+    public Schedule solve(TransmissionInstance instance) {
+        return solve(CompiledInstance.of(instance));
+    }
+
+    public Schedule solve(CompiledInstance compiled) {
+        return solve(compiled, compiled.getRelease());
+    }
+
+    // Même heuristique, l'ordre entre fichiers prêts étant donné par priority (date de début
+    // souhaitée, par exemple issue d'une relaxation linéaire) au lieu de la date de disponibilité
+    public Schedule solve(CompiledInstance compiled, int[] priority) {
+        return solve(compiled, priority, null, null);
+    }
+
+    // Réparation d'un planning antérieur (fenêtres exprimées dans les indices de compiled) : chaque
+    // fichier est replacé sur la fenêtre et à la date du planning si elles restent réalisables, au plus
+    // tôt sinon. Les fichiers sont pris dans l'ordre des débuts du planning, les nouveaux à leur date
+    // de disponibilité.
+    public Schedule repair(CompiledInstance compiled, Schedule previous) {
+        int nbFiles = compiled.getNbFiles();
+        int[] priority = compiled.getRelease().clone();
+        int[] preferredWindow = new int[nbFiles];
+        int[] preferredStart = new int[nbFiles];
+        Arrays.fill(preferredWindow, -1);
+        int[] satWindowOffset = compiled.getSatelliteWindowOffset();
+        for (int f = 0; f < nbFiles; f++) {
+            ScheduledTransmission transmission = previous.get(compiled.getFileId(f));
+            int k = compiled.getFileSatellite()[f];
+            if (transmission != null && transmission.getWindowIndex() < satWindowOffset[k + 1] - satWindowOffset[k]) {
+                priority[f] = transmission.getStart();
+                preferredWindow[f] = transmission.getWindowIndex();
+                preferredStart[f] = transmission.getStart();
+            }
+        }
+        return solve(compiled, priority, preferredWindow, preferredStart);
+    }
+
+    private Schedule solve(CompiledInstance compiled, int[] priority, int[] preferredWindow, int[] preferredStart) {
+        Schedule schedule = new Schedule();
+        int nbFiles = compiled.getNbFiles();
+        int[] fileSatellite = compiled.getFileSatellite();
+        int[] release = compiled.getRelease();
+        int[] satWindowOffset = compiled.getSatelliteWindowOffset();
+        int[] windowStation = compiled.getWindowStation();
+        int[] predOffset = compiled.getPredecessorOffset();
+        int[] preds = compiled.getPredecessors();
+
+        IntervalTimeline[] satelliteTimelines = new IntervalTimeline[compiled.getNbSatellites()];
+        for (int k = 0; k < satelliteTimelines.length; k++) {
+            satelliteTimelines[k] = new IntervalTimeline();
+        }
+        IntervalTimeline[] stationTimelines = new IntervalTimeline[compiled.getNbStations()];
+        for (int s = 0; s < stationTimelines.length; s++) {
+            stationTimelines[s] = new IntervalTimeline();
+        }
+        // Intervalle d'utilisation de chaque fenêtre (indice global)
+        int[] spanStarts = new int[compiled.getNbWindows()];
+        int[] spanEnds = new int[compiled.getNbWindows()];
+        Arrays.fill(spanStarts, Integer.MAX_VALUE);
+        Arrays.fill(spanEnds, Integer.MIN_VALUE);
+
+        int[] endTimes = new int[nbFiles];
+        // 0 : pas encore traité, 1 : planifié, -1 : non planifié
+        byte[] status = new byte[nbFiles];
+        int[] candidates = new int[16];
+        for (int f : topologicalOrder(compiled, priority, schedule)) {
+            int k = fileSatellite[f];
+            int firstWindow = satWindowOffset[k];
+            int lastWindow = satWindowOffset[k + 1];
+
+            // Même filtrage des fenêtres viables que le modèle : un fichier sans fenêtre viable est écarté
+            // et n'impose plus de précédence à ses successeurs
+            boolean viable = false;
+            for (int g = firstWindow; g < lastWindow && !viable; g++) {
+                viable = compiled.fits(f, g);
+            }
+            if (!viable) {
+                schedule.addUnscheduled(compiled.getFileId(f));
+                continue;
+            }
+
+            int earliestStart = release[f];
+            boolean blocked = false;
+            for (int i = predOffset[f]; i < predOffset[f + 1]; i++) {
+                int p = preds[i];
+                if (status[p] < 0) {
+                    blocked = true;
+                } else if (status[p] > 0) {
+                    earliestStart = Math.max(earliestStart, endTimes[p]);
+                }
+            }
+
+            int bestWindow = -1;
+            int bestStart = -1;
+            boolean kept = false;
+            if (preferredWindow != null && preferredWindow[f] >= 0 && !blocked) {
+                int g = firstWindow + preferredWindow[f];
+                int t = preferredStart[f];
+                int duration = compiled.getDuration(f, g);
+                if (t >= earliestStart && t >= compiled.getWindowStart()[g] && t + duration <= compiled.getWindowEnd()[g]
+                        && isFree(compiled, k, satelliteTimelines[k], spanStarts, spanEnds, g, windowStation[g],
+                        stationTimelines[windowStation[g]], t, duration)) {
+                    bestWindow = g;
+                    bestStart = t;
+                    kept = true;
+                }
+            }
+            // Fenêtre terminant le plus tôt la transmission (sa durée dépend du débit de la fenêtre)
+            for (int g = firstWindow; g < lastWindow && !blocked && !kept; g++) {
+                int s = windowStation[g];
+                int capacity = 1 + satelliteTimelines[k].size() + stationTimelines[s].size() + (lastWindow - firstWindow);
+                if (candidates.length < capacity) {
+                    candidates = new int[Math.max(capacity, 2 * candidates.length)];
+                }
+                int duration = compiled.getDuration(f, g);
+                int start = earliestStart(compiled, k, satelliteTimelines[k], spanStarts, spanEnds, g,
+                        s, stationTimelines[s], earliestStart, duration, candidates);
+                if (start >= 0 && (bestWindow < 0 || start + duration < bestStart + compiled.getDuration(f, bestWindow))) {
+                    bestWindow = g;
+                    bestStart = start;
+                }
+            }
+            if (bestWindow < 0) {
+                status[f] = -1;
+                schedule.addDropped(compiled.getFileId(f));
+                continue;
+            }
+
+            int end = bestStart + compiled.getDuration(f, bestWindow);
+            satelliteTimelines[k].add(bestStart, end);
+            stationTimelines[windowStation[bestWindow]].add(bestStart, end);
+            spanStarts[bestWindow] = Math.min(spanStarts[bestWindow], bestStart);
+            spanEnds[bestWindow] = Math.max(spanEnds[bestWindow], end);
+            endTimes[f] = end;
+            status[f] = 1;
+            schedule.add(new ScheduledTransmission(compiled.getFileId(f), compiled.getSatelliteId(k), bestWindow - firstWindow,
+                    compiled.getStationId(windowStation[bestWindow]), bestStart, end));
+        }
+        return schedule;
+    }
+
+    // Premier instant de début réalisable dans la fenêtre globale g, ou -1 s'il n'en existe pas. Les
+    // seuls candidats sont la date au plus tôt et les instants où une occupation se termine.
+    private static int earliestStart(CompiledInstance compiled, int k, IntervalTimeline satelliteTimeline, int[] spanStarts,
+                                     int[] spanEnds, int g, int s, IntervalTimeline stationTimeline, int earliestStart,
+                                     int duration, int[] candidates) {
+        int lo = Math.max(earliestStart, compiled.getWindowStart()[g]);
+        int hi = compiled.getWindowEnd()[g] - duration;
+        if (lo > hi) {
+            return -1;
+        }
+        int firstWindow = compiled.getSatelliteWindowOffset()[k];
+        int lastWindow = compiled.getSatelliteWindowOffset()[k + 1];
+        int count = 0;
+        candidates[count++] = lo;
+        count = satelliteTimeline.collectEndsIn(lo, hi, candidates, count);
+        count = stationTimeline.collectEndsIn(lo, hi, candidates, count);
+        for (int other = firstWindow; other < lastWindow; other++) {
+            if (other != g && spanEnds[other] > lo && spanEnds[other] <= hi) {
+                candidates[count++] = spanEnds[other];
+            }
+        }
+        Arrays.sort(candidates, 0, count);
+        for (int i = 0; i < count; i++) {
+            int t = candidates[i];
+            if (i > 0 && t == candidates[i - 1])
+                continue;
+            if (isFree(compiled, k, satelliteTimeline, spanStarts, spanEnds, g, s, stationTimeline, t, duration)) {
+                return t;
+            }
+        }
+        return -1;
+    }
+
+    // Vrai si une transmission de la fenêtre globale g peut occuper [t, t + duration) : un canal libre
+    // sur le satellite et la station, et l'intervalle d'utilisation de g reste disjoint des autres fenêtres
+    private static boolean isFree(CompiledInstance compiled, int k, IntervalTimeline satelliteTimeline, int[] spanStarts,
+                                  int[] spanEnds, int g, int s, IntervalTimeline stationTimeline, int t, int duration) {
+        if (satelliteTimeline.peakLoad(t, t + duration) >= compiled.getSatelliteChannels()[k])
+            return false;
+        if (stationTimeline.peakLoad(t, t + duration) >= compiled.getStationChannels()[s])
+            return false;
+        int newSpanStart = Math.min(spanStarts[g], t);
+        int newSpanEnd = Math.max(spanEnds[g], t + duration);
+        int firstWindow = compiled.getSatelliteWindowOffset()[k];
+        int lastWindow = compiled.getSatelliteWindowOffset()[k + 1];
+        for (int other = firstWindow; other < lastWindow; other++) {
+            if (other != g && newSpanStart < spanEnds[other] && spanStarts[other] < newSpanEnd) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Tri topologique (algorithme de Kahn) selon les prédécesseurs connus ; à égalité, le fichier
+    // de plus petite priorité passe en premier. Les fichiers pris dans un cycle ne sont pas planifiés.
+    private static int[] topologicalOrder(CompiledInstance compiled, int[] priority, Schedule schedule) {
+        int nbFiles = compiled.getNbFiles();
+        int[] predOffset = compiled.getPredecessorOffset();
+        int[] succOffset = compiled.getSuccessorOffset();
+        int[] succs = compiled.getSuccessors();
+        int[] inDegree = new int[nbFiles];
+        for (int f = 0; f < nbFiles; f++) {
+            inDegree[f] = predOffset[f + 1] - predOffset[f];
+        }
+        PriorityQueue<Integer> ready = new PriorityQueue<>(
+                Comparator.comparingInt((Integer f) -> priority[f]).thenComparing(compiled::getFileId));
+        for (int f = 0; f < nbFiles; f++) {
+            if (inDegree[f] == 0) {
+                ready.add(f);
+            }
+        }
+        int[] order = new int[nbFiles];
+        int count = 0;
+        while (!ready.isEmpty()) {
+            int f = ready.poll();
+            order[count++] = f;
+            for (int i = succOffset[f]; i < succOffset[f + 1]; i++) {
+                if (--inDegree[succs[i]] == 0) {
+                    ready.add(succs[i]);
+                }
+            }
+        }
+        if (count < nbFiles) {
+            for (int f = 0; f < nbFiles; f++) {
+                if (inDegree[f] > 0) {
+                    System.err.println("Fichier pris dans un cycle de précédence : " + compiled.getFileId(f));
+                    schedule.addUnscheduled(compiled.getFileId(f));
+                }
+            }
+        }
+        return Arrays.copyOf(order, count);
+    }
+}
@@ -0,0 +1,24 @@
+package main;
+
+import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
+import org.chocosolver.solver.variables.IntVar;
+
+// Trace de convergence : chaque nouvelle solution est affichée avec le temps écoulé et la valeur de
+// l'objectif (makespan ou volume).
+public class ImprovementLogger implements IMonitorSolution {
+    private final String label;
+    private final IntVar objective;
+    private final long startMillis;
+
+    public ImprovementLogger(String label, IntVar objective) {
+        this.label = label;
+        this.objective = objective;
+        this.startMillis = System.currentTimeMillis();
+    }
+
+    @Override
+    public void onSolution() {
+        System.out.println("[" + this.label + "] " + (System.currentTimeMillis() - this.startMillis) +
+                " ms : " + this.objective.getName() + " " + this.objective.getValue());
+    }
+}
@@ -0,0 +1,298 @@
+package main;
+
+import data.satellite.*;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.tools.TimeUtils;
+
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+// Service de replanification incrémentale : il conserve le planning courant et le met à jour à
+// chaque événement (nouveau fichier, annulation, perte de fenêtre). Les transmissions déjà
+// commencées à l'instant "now" sont figées ; seuls les fichiers des satellites touchés, les
+// fichiers affectés aux stations que ces satellites peuvent utiliser, et leurs successeurs sont
+// réoptimisés, en partant du planning précédent. Tous les autres fichiers gardent leur affectation.
+// Le service travaille sur sa propre copie des fichiers de l'instance, et le modèle Choco est
+// conservé d'un événement à l'autre : seules les contraintes de l'événement (fichiers figés,
+// début au plus tôt à "now") sont retirées puis reposées ; il n'est reconstruit que lorsque
+// l'ensemble des fichiers change (ajout ou annulation).
+public class IncrementalScheduler {
+    private final ModelOptions options;
+    private final long timeLimitMillis;
+    private TransmissionInstance instance;
+    private Schedule plan;
+    private TransmissionModel transmissionModel;
+    private final List<Constraint> eventConstraints = new ArrayList<>();
+    private long lastUpdateMillis;
+
+    public IncrementalScheduler(TransmissionInstance instance, Schedule initialPlan, ModelOptions options, String timeLimit) {
+        this.instance = copyOf(instance);
+        this.plan = initialPlan;
+        this.options = options;
+        this.timeLimitMillis = TimeUtils.convertInMilliseconds(timeLimit);
+    }
+
+    public TransmissionInstance getInstance() {
+        return this.instance;
+    }
+
+    public Schedule getPlan() {
+        return this.plan;
+    }
+
+    public long getLastUpdateMillis() {
+        return this.lastUpdateMillis;
+    }
+
+    // Événement décrit sur une ligne de texte :
+    //   add <satellite> <fichier> <taille> <disponibilité en minutes> <instant> [prédécesseurs séparés par des virgules]
+    //   cancel <fichier> <instant>
+    //   lost <satellite> <indice de fenêtre> <instant>
+    public Schedule apply(String event) {
+        String[] fields = event.trim().split("\\s+");
+        switch (fields[0]) {
+            case "add" -> {
+                String[] predecessors = fields.length > 6 ? fields[6].split(",") : new String[0];
+                data.satellite.File file = new data.satellite.File(fields[2], Integer.parseInt(fields[3]),
+                        TransmissionModel.BASE_TIME.plusMinutes(Integer.parseInt(fields[4])), predecessors);
+                return addFile(fields[1], file, Integer.parseInt(fields[5]));
+            }
+            case "cancel" -> {
+                return cancelFile(fields[1], Integer.parseInt(fields[2]));
+            }
+            case "lost" -> {
+                return windowLost(fields[1], Integer.parseInt(fields[2]), Integer.parseInt(fields[3]));
+            }
+            default -> throw new IllegalArgumentException("Événement inconnu : " + event);
+        }
+    }
+
+    // Nouvelle acquisition d'un satellite
+    public Schedule addFile(String satelliteId, data.satellite.File file, int now) {
+        data.satellite.File copy = copyOf(file, file.getPredecessors());
+        replaceSatellite(satelliteId, satellite -> {
+            data.satellite.File[] files = Arrays.copyOf(satellite.getFiles(), satellite.getFiles().length + 1);
+            files[files.length - 1] = copy;
+            return new Satellite(satellite.getId(), satellite.getNbTransmissionChannels(), satellite.getDownlinkRate(), files, satellite.getTransmissionWindows());
+        });
+        this.transmissionModel = null;
+        return replan(Set.of(satelliteId), Collections.emptySet(), now);
+    }
+
+    // Annulation d'un fichier : il disparaît de l'instance, du planning et des prédécesseurs des autres
+    // fichiers (remplacés par des copies, les fichiers de l'appelant ne sont jamais modifiés)
+    public Schedule cancelFile(String fileId, int now) {
+        String satelliteId = null;
+        Satellite[] satellites = this.instance.getSatellites().clone();
+        for (int k = 0; k < satellites.length; k++) {
+            Satellite satellite = satellites[k];
+            List<data.satellite.File> files = new ArrayList<>();
+            for (data.satellite.File file : satellite.getFiles()) {
+                if (file.getId().equals(fileId)) {
+                    satelliteId = satellite.getId();
+                } else if (file.getPredecessors() != null && Arrays.asList(file.getPredecessors()).contains(fileId)) {
+                    files.add(copyOf(file, Arrays.stream(file.getPredecessors()).filter(id -> !id.equals(fileId)).toArray(String[]::new)));
+                } else {
+                    files.add(file);
+                }
+            }
+            satellites[k] = new Satellite(satellite.getId(), satellite.getNbTransmissionChannels(), satellite.getDownlinkRate(),
+                    files.toArray(new data.satellite.File[0]), satellite.getTransmissionWindows());
+        }
+        if (satelliteId == null) {
+            System.err.println("Fichier à annuler inconnu : " + fileId);
+            return this.plan;
+        }
+        this.instance = new TransmissionInstance(this.instance.getId(), this.instance.getStations(), satellites);
+        this.transmissionModel = null;
+        // Retirer une transmission laisse le planning réalisable : il reste le repli si la replanification échoue
+        Schedule withoutFile = new Schedule();
+        for (ScheduledTransmission transmission : this.plan.getTransmissions()) {
+            if (!transmission.getFileId().equals(fileId)) {
+                withoutFile.add(transmission);
+            }
+        }
+        withoutFile.addUnscheduledOf(this.plan);
+        this.plan = withoutFile;
+        return replan(Set.of(satelliteId), Collections.emptySet(), now);
+    }
+
+    // Perte d'une fenêtre à partir de l'instant "now" : la fenêtre est tronquée (ce qui conserve les
+    // indices des autres fenêtres) et les transmissions interrompues sont à reprendre. Le modèle
+    // courant est conservé : la troncature y est posée comme contrainte sur la fin des fichiers du satellite
+    public Schedule windowLost(String satelliteId, int windowIndex, int now) {
+        Set<String> interrupted = new HashSet<>();
+        int[] lostEnd = new int[1];
+        replaceSatellite(satelliteId, satellite -> {
+            TransmissionWindow[] windows = satellite.getTransmissionWindows().clone();
+            TransmissionWindow lost = windows[windowIndex];
+            lostEnd[0] = Math.min(Math.max(TransmissionModel.toMinutes(lost.getStart()), now), TransmissionModel.toMinutes(lost.getEnd()));
+            windows[windowIndex] = new TransmissionWindow(lost.getSatelliteId(), lost.getStationId(), lost.getStart(),
+                    TransmissionModel.BASE_TIME.plusMinutes(lostEnd[0]));
+            return new Satellite(satellite.getId(), satellite.getNbTransmissionChannels(), satellite.getDownlinkRate(), satellite.getFiles(), windows);
+        });
+        if (this.transmissionModel != null) {
+            Model model = this.transmissionModel.getModel();
+            model.getSolver().reset();
+            for (Satellite satellite : this.instance.getSatellites()) {
+                if (!satellite.getId().equals(satelliteId))
+                    continue;
+                for (data.satellite.File file : satellite.getFiles()) {
+                    IntVar windowChoice = this.transmissionModel.getWindowChoiceVars().get(file.getId());
+                    if (windowChoice != null && windowChoice.contains(windowIndex)) {
+                        model.or(model.arithm(windowChoice, "!=", windowIndex),
+                                model.arithm(this.transmissionModel.getEndVars().get(file.getId()), "<=", lostEnd[0])).post();
+                    }
+                }
+            }
+        }
+        for (ScheduledTransmission transmission : this.plan.getTransmissions()) {
+            if (transmission.getSatelliteId().equals(satelliteId) && transmission.getWindowIndex() == windowIndex
+                    && transmission.getEnd() > now) {
+                interrupted.add(transmission.getFileId());
+            }
+        }
+        return replan(Set.of(satelliteId), interrupted, now);
+    }
+
+    // Le voisinage puis, s'il échoue, tous les fichiers non commencés sont réoptimisés dans le même
+    // budget de temps : la seconde résolution ne dispose que du temps laissé par la première
+    private Schedule replan(Set<String> affectedSatellites, Set<String> interrupted, int now) {
+        long startMillis = System.currentTimeMillis();
+        long deadline = startMillis + this.timeLimitMillis;
+        if (this.transmissionModel == null) {
+            this.transmissionModel = new TransmissionModel(this.instance, this.options);
+            this.eventConstraints.clear();
+        }
+        Set<String> frozen = new HashSet<>();
+        for (ScheduledTransmission transmission : this.plan.getTransmissions()) {
+            if (transmission.getStart() < now && !interrupted.contains(transmission.getFileId())) {
+                frozen.add(transmission.getFileId());
+            }
+        }
+        Set<String> free = neighbourhood(affectedSatellites, frozen);
+        Schedule updated = solve(frozen, free, now, deadline);
+        if (updated == null && System.currentTimeMillis() < deadline) {
+            // Le voisinage est trop étroit : on libère tout ce qui n'a pas encore commencé
+            Set<String> allFree = new HashSet<>();
+            for (Satellite satellite : this.instance.getSatellites()) {
+                for (data.satellite.File file : satellite.getFiles()) {
+                    if (!frozen.contains(file.getId())) {
+                        allFree.add(file.getId());
+                    }
+                }
+            }
+            updated = solve(frozen, allFree, now, deadline);
+        }
+        this.lastUpdateMillis = System.currentTimeMillis() - startMillis;
+        if (updated == null) {
+            System.err.println("Replanification impossible, le planning précédent est conservé");
+            return this.plan;
+        }
+        this.plan = updated;
+        return updated;
+    }
+
+    // Fichiers à réoptimiser : fichiers non figés des satellites touchés, fichiers non figés affectés
+    // aux stations de ces satellites, fichiers absents du planning, puis leurs successeurs
+    private Set<String> neighbourhood(Set<String> affectedSatellites, Set<String> frozen) {
+        Set<String> stations = new HashSet<>();
+        for (Satellite satellite : this.instance.getSatellites()) {
+            if (affectedSatellites.contains(satellite.getId())) {
+                for (TransmissionWindow tw : satellite.getTransmissionWindows()) {
+                    stations.add(tw.getStationId());
+                }
+            }
+        }
+        Set<String> free = new HashSet<>();
+        Map<String, List<String>> successors = new HashMap<>();
+        for (Satellite satellite : this.instance.getSatellites()) {
+            for (data.satellite.File file : satellite.getFiles()) {
+                if (file.getPredecessors() != null) {
+                    for (String predId : file.getPredecessors()) {
+                        successors.computeIfAbsent(predId, key -> new ArrayList<>()).add(file.getId());
+                    }
+                }
+                if (frozen.contains(file.getId()))
+                    continue;
+                ScheduledTransmission transmission = this.plan.get(file.getId());
+                if (transmission == null || affectedSatellites.contains(satellite.getId())
+                        || stations.contains(transmission.getStationId())) {
+                    free.add(file.getId());
+                }
+            }
+        }
+        Deque<String> toVisit = new ArrayDeque<>(free);
+        while (!toVisit.isEmpty()) {
+            for (String succId : successors.getOrDefault(toVisit.poll(), Collections.emptyList())) {
+                if (!frozen.contains(succId) && free.add(succId)) {
+                    toVisit.add(succId);
+                }
+            }
+        }
+        return free;
+    }
+
+    // Résolution sur le modèle courant : les contraintes de l'événement précédent sont retirées, celles
+    // de cet événement posées, et la recherche part du planning précédent jusqu'à l'échéance
+    private Schedule solve(Set<String> frozen, Set<String> free, int now, long deadline) {
+        TransmissionModel transmissionModel = this.transmissionModel;
+        Solver solver = transmissionModel.getModel().getSolver();
+        solver.reset();
+        transmissionModel.getModel().unpost(this.eventConstraints.toArray(new Constraint[0]));
+        this.eventConstraints.clear();
+        for (String fileId : transmissionModel.getFileIds()) {
+            ScheduledTransmission transmission = this.plan.get(fileId);
+            IntVar windowChoice = transmissionModel.getWindowChoiceVars().get(fileId);
+            boolean pinnable = transmission != null && windowChoice.contains(transmission.getWindowIndex());
+            if (pinnable && (frozen.contains(fileId) || !free.contains(fileId))) {
+                this.eventConstraints.addAll(transmissionModel.pin(fileId, transmission.getWindowIndex(), transmission.getStart()));
+            } else {
+                Constraint notBefore = transmissionModel.getModel().arithm(transmissionModel.getStartVars().get(fileId), ">=", now);
+                notBefore.post();
+                this.eventConstraints.add(notBefore);
+            }
+        }
+        WarmStart.applyHints(transmissionModel, this.plan);
+        Solution solution = solver.findOptimalSolution(transmissionModel.getObjective(), transmissionModel.isMaximizing(),
+                () -> System.currentTimeMillis() >= deadline);
+        if (solution == null) {
+            return null;
+        }
+        Schedule schedule = Schedule.fromSolution(transmissionModel, solution);
+        schedule.setProvenOptimal(solver.isObjectiveOptimal() && frozen.size() + free.size() == transmissionModel.getFileIds().size());
+        return schedule;
+    }
+
+    private void replaceSatellite(String satelliteId, UnaryOperator<Satellite> update) {
+        Satellite[] satellites = this.instance.getSatellites().clone();
+        for (int k = 0; k < satellites.length; k++) {
+            if (satellites[k].getId().equals(satelliteId)) {
+                satellites[k] = update.apply(satellites[k]);
+            }
+        }
+        this.instance = new TransmissionInstance(this.instance.getId(), this.instance.getStations(), satellites);
+    }
+
+    // Copie de l'instance dont les fichiers, seuls objets modifiables, sont dupliqués
+    private static TransmissionInstance copyOf(TransmissionInstance instance) {
+        Satellite[] satellites = new Satellite[instance.getSatellites().length];
+        for (int k = 0; k < satellites.length; k++) {
+            Satellite satellite = instance.getSatellites()[k];
+            data.satellite.File[] files = Arrays.stream(satellite.getFiles())
+                    .map(file -> copyOf(file, file.getPredecessors())).toArray(data.satellite.File[]::new);
+            satellites[k] = new Satellite(satellite.getId(), satellite.getNbTransmissionChannels(), satellite.getDownlinkRate(),
+                    files, satellite.getTransmissionWindows());
+        }
+        return new TransmissionInstance(instance.getId(), instance.getStations(), satellites);
+    }
+
+    private static data.satellite.File copyOf(data.satellite.File file, String[] predecessors) {
+        return new data.satellite.File(file.getId(), file.getSize(), file.getReleaseDateTime(),
+                predecessors == null ? null : predecessors.clone());
+    }
+}
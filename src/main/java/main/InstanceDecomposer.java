@@ -0,0 +1,79 @@
+package main;
+
+import data.satellite.*;
+
+import java.util.*;
+
+// Découpage d'une instance en sous-instances indépendantes. Le graphe d'interaction relie un
+// satellite aux stations de ses fenêtres (stations partagées) et aux satellites portant les
+// prédécesseurs de ses fichiers ; chaque composante connexe devient une sous-instance.
+public class InstanceDecomposer {
+
+    public static List<TransmissionInstance> decompose(TransmissionInstance instance) {
+        Satellite[] satellites = instance.getSatellites();
+        Station[] stations = instance.getStations();
+        // Union-find : satellites sur [0, nbSatellites), stations sur [nbSatellites, nbSatellites + nbStations)
+        int[] parent = new int[satellites.length + stations.length];
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+        }
+        Map<String, Integer> stationIndex = new HashMap<>();
+        for (int s = 0; s < stations.length; s++) {
+            stationIndex.put(stations[s].getId(), s);
+        }
+        Map<String, Integer> fileSatellite = new HashMap<>();
+        for (int k = 0; k < satellites.length; k++) {
+            for (data.satellite.File file : satellites[k].getFiles()) {
+                fileSatellite.put(file.getId(), k);
+            }
+        }
+
+        for (int k = 0; k < satellites.length; k++) {
+            for (TransmissionWindow tw : satellites[k].getTransmissionWindows()) {
+                union(parent, k, satellites.length + stationIndex.get(tw.getStationId()));
+            }
+            for (data.satellite.File file : satellites[k].getFiles()) {
+                if (file.getPredecessors() == null)
+                    continue;
+                for (String predId : file.getPredecessors()) {
+                    Integer predSatellite = fileSatellite.get(predId);
+                    if (predSatellite != null) {
+                        union(parent, k, predSatellite);
+                    }
+                }
+            }
+        }
+
+        // Regroupement par racine, en conservant l'ordre d'origine des satellites et des stations
+        Map<Integer, List<Satellite>> componentSatellites = new LinkedHashMap<>();
+        Map<Integer, List<Station>> componentStations = new LinkedHashMap<>();
+        for (int k = 0; k < satellites.length; k++) {
+            componentSatellites.computeIfAbsent(find(parent, k), key -> new ArrayList<>()).add(satellites[k]);
+        }
+        for (int s = 0; s < stations.length; s++) {
+            componentStations.computeIfAbsent(find(parent, satellites.length + s), key -> new ArrayList<>()).add(stations[s]);
+        }
+        List<TransmissionInstance> components = new ArrayList<>();
+        for (Map.Entry<Integer, List<Satellite>> entry : componentSatellites.entrySet()) {
+            List<Station> componentStationList = componentStations.getOrDefault(entry.getKey(), Collections.emptyList());
+            components.add(new TransmissionInstance(
+                    instance.getId() + "#" + components.size(),
+                    componentStationList.toArray(new Station[0]),
+                    entry.getValue().toArray(new Satellite[0])
+            ));
+        }
+        return components;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        parent[find(parent, a)] = find(parent, b);
+    }
+}
@@ -0,0 +1,200 @@
+package main;
+
+import data.satellite.*;
+
+import java.util.*;
+
+// Générateur d'instances synthétiques reproductibles (même graine, même instance), pour mesurer
+// l'évolution du temps de construction, de la mémoire et de la qualité des solutions avec la taille.
+// Les instances tiennent sur une journée à partir de BASE_TIME :
+// - chaque satellite reçoit nbWindowsPerSatellite fenêtres, une par tranche de la journée, vers une
+//   station tirée au hasard ;
+// - chaque fichier est disponible assez tôt pour tenir dans une fenêtre de son satellite ;
+// - les tailles sont calibrées pour que la durée totale des fichiers d'un satellite vaille
+//   tightness fois la capacité de ses fenêtres (durée x min(canaux du satellite, de la station)) ;
+// - chaque fichier a en moyenne predecessorDensity prédécesseurs, choisis parmi les fichiers du même
+//   satellite disponibles avant lui (le graphe de précédence est donc sans cycle).
+public class InstanceGenerator {
+    private long seed;
+    private int nbSatellites = 10;
+    private int nbStations = 20;
+    private int nbFiles = 1000;
+    private int nbWindowsPerSatellite = 20;
+    private double predecessorDensity = 0.5;
+    private double tightness = 0.5;
+
+    public long getSeed() {
+        return this.seed;
+    }
+
+    public InstanceGenerator setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public int getNbSatellites() {
+        return this.nbSatellites;
+    }
+
+    public InstanceGenerator setNbSatellites(int nbSatellites) {
+        if (nbSatellites <= 0) {
+            throw new IllegalArgumentException("Le nombre de satellites doit être positif : " + nbSatellites);
+        }
+        this.nbSatellites = nbSatellites;
+        return this;
+    }
+
+    public int getNbStations() {
+        return this.nbStations;
+    }
+
+    public InstanceGenerator setNbStations(int nbStations) {
+        if (nbStations <= 0) {
+            throw new IllegalArgumentException("Le nombre de stations doit être positif : " + nbStations);
+        }
+        this.nbStations = nbStations;
+        return this;
+    }
+
+    public int getNbFiles() {
+        return this.nbFiles;
+    }
+
+    public InstanceGenerator setNbFiles(int nbFiles) {
+        if (nbFiles < 0) {
+            throw new IllegalArgumentException("Le nombre de fichiers ne peut pas être négatif : " + nbFiles);
+        }
+        this.nbFiles = nbFiles;
+        return this;
+    }
+
+    public int getNbWindowsPerSatellite() {
+        return this.nbWindowsPerSatellite;
+    }
+
+    public InstanceGenerator setNbWindowsPerSatellite(int nbWindowsPerSatellite) {
+        if (nbWindowsPerSatellite <= 0 || nbWindowsPerSatellite > MultiDayScheduler.MINUTES_PER_DAY / 2) {
+            throw new IllegalArgumentException("Nombre de fenêtres par satellite invalide : " + nbWindowsPerSatellite);
+        }
+        this.nbWindowsPerSatellite = nbWindowsPerSatellite;
+        return this;
+    }
+
+    public double getPredecessorDensity() {
+        return this.predecessorDensity;
+    }
+
+    public InstanceGenerator setPredecessorDensity(double predecessorDensity) {
+        if (predecessorDensity < 0) {
+            throw new IllegalArgumentException("La densité de prédécesseurs ne peut pas être négative : " + predecessorDensity);
+        }
+        this.predecessorDensity = predecessorDensity;
+        return this;
+    }
+
+    public double getTightness() {
+        return this.tightness;
+    }
+
+    public InstanceGenerator setTightness(double tightness) {
+        if (tightness <= 0) {
+            throw new IllegalArgumentException("Le taux de charge doit être positif : " + tightness);
+        }
+        this.tightness = tightness;
+        return this;
+    }
+
+    public TransmissionInstance generate() {
+        Random rnd = new Random(this.seed);
+        int day = MultiDayScheduler.MINUTES_PER_DAY;
+
+        Station[] stations = new Station[this.nbStations];
+        for (int s = 0; s < this.nbStations; s++) {
+            stations[s] = new Station("Station_" + (s + 1), Utils.generateNonZeroInteger(rnd, 10));
+        }
+
+        // Fichiers répartis équitablement entre les satellites, numérotés globalement
+        Satellite[] satellites = new Satellite[this.nbSatellites];
+        int slot = day / this.nbWindowsPerSatellite;
+        int nextFile = 0;
+        for (int k = 0; k < this.nbSatellites; k++) {
+            String satelliteId = "Satellite_" + (k + 1);
+            int channels = Utils.generateNonZeroInteger(rnd, 9);
+
+            // Une fenêtre par tranche, couvrant de 40 % à 100 % de la tranche
+            TransmissionWindow[] windows = new TransmissionWindow[this.nbWindowsPerSatellite];
+            int[] windowStart = new int[windows.length];
+            int[] windowEnd = new int[windows.length];
+            long capacity = 0;
+            for (int w = 0; w < windows.length; w++) {
+                int length = Math.max(1, slot * (40 + rnd.nextInt(61)) / 100);
+                windowStart[w] = w * slot + rnd.nextInt(slot - length + 1);
+                windowEnd[w] = windowStart[w] + length;
+                Station station = stations[rnd.nextInt(this.nbStations)];
+                capacity += (long) length * Math.min(channels, station.getNbChannels());
+                windows[w] = new TransmissionWindow(satelliteId, station.getId(),
+                        TransmissionModel.BASE_TIME.plusMinutes(windowStart[w]), TransmissionModel.BASE_TIME.plusMinutes(windowEnd[w]));
+            }
+
+            // Durée moyenne visée pour atteindre le taux de charge, bornée par la plus petite fenêtre
+            int count = this.nbFiles / this.nbSatellites + (k < this.nbFiles % this.nbSatellites ? 1 : 0);
+            int shortest = Integer.MAX_VALUE;
+            for (int w = 0; w < windows.length; w++) {
+                shortest = Math.min(shortest, windowEnd[w] - windowStart[w]);
+            }
+            double meanDuration = count == 0 ? 1 : Math.max(1, Math.min(shortest, this.tightness * capacity / count));
+            if (count > 0 && this.tightness * capacity / count < 1) {
+                System.err.println(satelliteId + " : " + count + " fichiers d'au moins une minute dépassent le taux de charge demandé");
+            }
+
+            // Dates de disponibilité : assez tôt pour que le fichier tienne dans une fenêtre tirée au hasard
+            int[] duration = new int[count];
+            int[] release = new int[count];
+            for (int i = 0; i < count; i++) {
+                double factor = 0.5 + rnd.nextDouble();
+                duration[i] = (int) Math.max(1, Math.min(shortest, Math.round(meanDuration * factor)));
+                int w = rnd.nextInt(windows.length);
+                release[i] = rnd.nextInt(windowEnd[w] - duration[i] + 1);
+            }
+            Integer[] byRelease = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                byRelease[i] = i;
+            }
+            Arrays.sort(byRelease, Comparator.comparingInt(i -> release[i]));
+
+            // Prédécesseurs : fichiers du satellite disponibles plus tôt
+            File[] files = new File[count];
+            Set<Integer> chosen = new LinkedHashSet<>();
+            for (int rank = 0; rank < count; rank++) {
+                int i = byRelease[rank];
+                int nbPreds = (int) this.predecessorDensity + (rnd.nextDouble() < this.predecessorDensity % 1 ? 1 : 0);
+                nbPreds = Math.min(nbPreds, rank);
+                chosen.clear();
+                while (chosen.size() < nbPreds) {
+                    chosen.add(nextFile + byRelease[rnd.nextInt(rank)]);
+                }
+                String[] predecessors = chosen.stream().map(p -> "File_" + p).toArray(String[]::new);
+                // Taille en Mo : la durée de transmission est ceil(taille / 10) minutes
+                int size = 10 * (duration[i] - 1) + Utils.generateNonZeroInteger(rnd, 11);
+                files[i] = new File("File_" + (nextFile + i), size, TransmissionModel.BASE_TIME.plusMinutes(release[i]), predecessors);
+            }
+            nextFile += count;
+            satellites[k] = new Satellite(satelliteId, channels, files, windows);
+        }
+        return new TransmissionInstance(String.format(Locale.ROOT, "Generated_%d_%d_%d_%d_%d", this.seed,
+                this.nbSatellites, this.nbStations, this.nbFiles, this.nbWindowsPerSatellite), stations, satellites);
+    }
+
+    @Override
+    public String toString() {
+        return "InstanceGenerator[" +
+                "seed: " + this.seed + ", " +
+                "satellites: " + this.nbSatellites + ", " +
+                "stations: " + this.nbStations + ", " +
+                "files: " + this.nbFiles + ", " +
+                "windowsPerSatellite: " + this.nbWindowsPerSatellite + ", " +
+                "predecessorDensity: " + this.predecessorDensity + ", " +
+                "tightness: " + this.tightness +
+                "]";
+    }
+}
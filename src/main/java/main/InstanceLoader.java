@@ -0,0 +1,348 @@
+package main;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+// Chargement d'une instance directement sous forme compilée : le JSON est lu en flux (JsonParser),
+// sans construire l'arbre d'objets ni un LocalDateTime par date. En option, le résultat est conservé
+// dans un fichier binaire voisin ("<instance>.cache"), identifié par l'empreinte SHA-256 du JSON,
+// et relu par projection mémoire lors des exécutions suivantes sur le même contenu.
+public class InstanceLoader {
+    private static final int CACHE_MAGIC = 0x54524349;
+    private static final int CACHE_VERSION = 2;
+    // La lecture en flux n'a besoin que de la fabrique de parseurs, pas de l'ObjectMapper et de ses modules
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final long BASE_DAY = TransmissionModel.BASE_TIME.toLocalDate().toEpochDay();
+
+    public static CompiledInstance load(String path, boolean useCache) {
+        try {
+            byte[] json = Files.readAllBytes(Paths.get(path));
+            if (!useCache) {
+                return parse(json);
+            }
+            byte[] hash = sha256(json);
+            Path cachePath = Paths.get(path + ".cache");
+            if (Files.exists(cachePath)) {
+                CompiledInstance cached = readCache(cachePath, hash);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            CompiledInstance compiled = parse(json);
+            writeCache(compiled, cachePath, hash);
+            return compiled;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    // Lecture en flux du JSON produit par Utils.toFile (dates sous forme de tableaux [a, m, j, h, min]
+    // ou de chaînes ISO) ; les champs inconnus sont ignorés
+    public static CompiledInstance parse(byte[] json) throws IOException {
+        CompiledInstance.Builder builder = new CompiledInstance.Builder();
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                switch (field) {
+                    case "id" -> builder.setId(token == JsonToken.VALUE_NULL ? null : parser.getText());
+                    case "stations" -> parseStations(parser, builder);
+                    case "satellites" -> parseSatellites(parser, builder);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private static void parseStations(JsonParser parser, CompiledInstance.Builder builder) throws IOException {
+        expect(parser, parser.currentToken(), JsonToken.START_ARRAY);
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String id = null;
+            int nbChannels = 0;
+            double downlinkRate = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "id" -> id = parser.getText();
+                    case "nbChannels" -> nbChannels = parser.getIntValue();
+                    case "downlinkRate" -> downlinkRate = parser.getDoubleValue();
+                    default -> parser.skipChildren();
+                }
+            }
+            builder.addStation(id, nbChannels, downlinkRate);
+        }
+    }
+
+    private static void parseSatellites(JsonParser parser, CompiledInstance.Builder builder) throws IOException {
+        expect(parser, parser.currentToken(), JsonToken.START_ARRAY);
+        List<String> fileIds = new ArrayList<>();
+        List<int[]> fileValues = new ArrayList<>();
+        List<String[]> filePredecessors = new ArrayList<>();
+        List<String> windowStations = new ArrayList<>();
+        List<int[]> windowValues = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            // Les champs d'un satellite peuvent arriver dans n'importe quel ordre : fichiers et
+            // fenêtres sont mis de côté jusqu'à la fin de l'objet
+            String id = null;
+            int nbChannels = 0;
+            double downlinkRate = 0;
+            fileIds.clear();
+            fileValues.clear();
+            filePredecessors.clear();
+            windowStations.clear();
+            windowValues.clear();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "id" -> id = parser.getText();
+                    case "nbTransmissionChannels" -> nbChannels = parser.getIntValue();
+                    case "downlinkRate" -> downlinkRate = parser.getDoubleValue();
+                    case "files" -> parseFiles(parser, fileIds, fileValues, filePredecessors);
+                    case "transmissionWindows" -> parseWindows(parser, windowStations, windowValues);
+                    default -> parser.skipChildren();
+                }
+            }
+            builder.addSatellite(id, nbChannels, downlinkRate);
+            for (int i = 0; i < fileIds.size(); i++) {
+                builder.addFile(fileIds.get(i), fileValues.get(i)[0], fileValues.get(i)[1], filePredecessors.get(i));
+            }
+            for (int i = 0; i < windowStations.size(); i++) {
+                builder.addWindow(windowStations.get(i), windowValues.get(i)[0], windowValues.get(i)[1]);
+            }
+        }
+    }
+
+    private static void parseFiles(JsonParser parser, List<String> ids, List<int[]> values, List<String[]> predecessors) throws IOException {
+        expect(parser, parser.currentToken(), JsonToken.START_ARRAY);
+        List<String> preds = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String id = null;
+            int size = 0;
+            int release = 0;
+            String[] predArray = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                switch (field) {
+                    case "id" -> id = parser.getText();
+                    case "size" -> size = parser.getIntValue();
+                    case "releaseDateTime" -> release = parseMinutes(parser);
+                    case "predecessors" -> {
+                        if (token == JsonToken.START_ARRAY) {
+                            preds.clear();
+                            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                                preds.add(parser.getText());
+                            }
+                            predArray = preds.toArray(new String[0]);
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+            ids.add(id);
+            values.add(new int[]{size, release});
+            predecessors.add(predArray);
+        }
+    }
+
+    private static void parseWindows(JsonParser parser, List<String> stations, List<int[]> values) throws IOException {
+        expect(parser, parser.currentToken(), JsonToken.START_ARRAY);
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String stationId = null;
+            int start = 0;
+            int end = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "stationId" -> stationId = parser.getText();
+                    case "start" -> start = parseMinutes(parser);
+                    case "end" -> end = parseMinutes(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+            stations.add(stationId);
+            values.add(new int[]{start, end});
+        }
+    }
+
+    // Date en minutes depuis BASE_TIME ; les secondes éventuelles sont ignorées
+    private static int parseMinutes(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            return TransmissionModel.toMinutes(LocalDateTime.parse(parser.getText()));
+        }
+        expect(parser, parser.currentToken(), JsonToken.START_ARRAY);
+        int[] fields = new int[5];
+        int n = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (n < fields.length) {
+                fields[n++] = parser.getIntValue();
+            }
+        }
+        long days = LocalDate.of(fields[0], fields[1], fields[2]).toEpochDay() - BASE_DAY;
+        return (int) (days * MultiDayScheduler.MINUTES_PER_DAY + fields[3] * 60L + fields[4]);
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("JSON inattendu (" + actual + " au lieu de " + expected + ") à " + parser.currentLocation());
+        }
+    }
+
+    // Relecture du cache par projection mémoire ; null si l'empreinte ne correspond pas ou si le fichier est illisible
+    private static CompiledInstance readCache(Path cachePath, byte[] hash) {
+        try (FileChannel channel = FileChannel.open(cachePath, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != CACHE_MAGIC || buffer.getInt() != CACHE_VERSION) {
+                return null;
+            }
+            byte[] storedHash = new byte[hash.length];
+            buffer.get(storedHash);
+            if (!Arrays.equals(storedHash, hash)) {
+                return null;
+            }
+            CompiledInstance.Builder builder = new CompiledInstance.Builder().setId(readString(buffer));
+            int nbStations = buffer.getInt();
+            String[] stationIds = new String[nbStations];
+            for (int s = 0; s < nbStations; s++) {
+                stationIds[s] = readString(buffer);
+                builder.addStation(stationIds[s], buffer.getInt(), buffer.getDouble());
+            }
+            int nbSatellites = buffer.getInt();
+            for (int k = 0; k < nbSatellites; k++) {
+                builder.addSatellite(readString(buffer), buffer.getInt(), buffer.getDouble());
+                int nbFiles = buffer.getInt();
+                for (int i = 0; i < nbFiles; i++) {
+                    String id = readString(buffer);
+                    int size = buffer.getInt();
+                    int release = buffer.getInt();
+                    String[] preds = new String[buffer.getInt()];
+                    for (int p = 0; p < preds.length; p++) {
+                        preds[p] = readString(buffer);
+                    }
+                    builder.addFile(id, size, release, preds);
+                }
+                int nbWindows = buffer.getInt();
+                for (int w = 0; w < nbWindows; w++) {
+                    builder.addWindow(stationIds[buffer.getInt()], buffer.getInt(), buffer.getInt());
+                }
+            }
+            return builder.build();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Cache d'instance illisible, relecture du JSON : " + cachePath);
+            return null;
+        }
+    }
+
+    // Écriture dans un fichier temporaire puis renommage, pour qu'un lecteur concurrent ne voie jamais un cache partiel
+    private static void writeCache(CompiledInstance compiled, Path cachePath, byte[] hash) {
+        Map<String, List<String>> missing = new HashMap<>();
+        for (String[] pair : compiled.getMissingPredecessors()) {
+            missing.computeIfAbsent(pair[0], key -> new ArrayList<>()).add(pair[1]);
+        }
+        int[] predOffset = compiled.getPredecessorOffset();
+        int[] preds = compiled.getPredecessors();
+        int[] satFileOffset = compiled.getSatelliteFileOffset();
+        int[] satWindowOffset = compiled.getSatelliteWindowOffset();
+        try {
+            Path tmp = Files.createTempFile(cachePath.toAbsolutePath().getParent(), cachePath.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(CACHE_MAGIC);
+                out.writeInt(CACHE_VERSION);
+                out.write(hash);
+                writeString(out, compiled.getId());
+                out.writeInt(compiled.getNbStations());
+                for (int s = 0; s < compiled.getNbStations(); s++) {
+                    writeString(out, compiled.getStationId(s));
+                    out.writeInt(compiled.getStationChannels()[s]);
+                    out.writeDouble(compiled.getStationRate()[s]);
+                }
+                out.writeInt(compiled.getNbSatellites());
+                for (int k = 0; k < compiled.getNbSatellites(); k++) {
+                    writeString(out, compiled.getSatelliteId(k));
+                    out.writeInt(compiled.getSatelliteChannels()[k]);
+                    out.writeDouble(compiled.getSatelliteRate()[k]);
+                    out.writeInt(satFileOffset[k + 1] - satFileOffset[k]);
+                    for (int f = satFileOffset[k]; f < satFileOffset[k + 1]; f++) {
+                        writeString(out, compiled.getFileId(f));
+                        out.writeInt(compiled.getSize()[f]);
+                        out.writeInt(compiled.getRelease()[f]);
+                        List<String> missingPreds = missing.getOrDefault(compiled.getFileId(f), Collections.emptyList());
+                        out.writeInt(predOffset[f + 1] - predOffset[f] + missingPreds.size());
+                        for (int i = predOffset[f]; i < predOffset[f + 1]; i++) {
+                            writeString(out, compiled.getFileId(preds[i]));
+                        }
+                        for (String predId : missingPreds) {
+                            writeString(out, predId);
+                        }
+                    }
+                    out.writeInt(satWindowOffset[k + 1] - satWindowOffset[k]);
+                    for (int g = satWindowOffset[k]; g < satWindowOffset[k + 1]; g++) {
+                        out.writeInt(compiled.getWindowStation()[g]);
+                        out.writeInt(compiled.getWindowStart()[g]);
+                        out.writeInt(compiled.getWindowEnd()[g]);
+                    }
+                }
+            }
+            Files.move(tmp, cachePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Impossible d'écrire le cache d'instance " + cachePath + " : " + e.getMessage());
+        }
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package main;
+
+import java.util.Arrays;
+
+// Occupation d'une ressource par des intervalles [start, end), triés par date de début.
+// Les requêtes ne parcourent que les intervalles pouvant recouvrir la plage demandée
+// (début dans [from - longueur max, to)).
+public class IntervalTimeline {
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private int size;
+    private int maxLength;
+
+    public void add(int start, int end) {
+        if (this.size == this.starts.length) {
+            this.starts = Arrays.copyOf(this.starts, this.size * 2);
+            this.ends = Arrays.copyOf(this.ends, this.size * 2);
+        }
+        int pos = lowerBound(start + 1);
+        System.arraycopy(this.starts, pos, this.starts, pos + 1, this.size - pos);
+        System.arraycopy(this.ends, pos, this.ends, pos + 1, this.size - pos);
+        this.starts[pos] = start;
+        this.ends[pos] = end;
+        this.size++;
+        this.maxLength = Math.max(this.maxLength, end - start);
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    // Nombre maximal d'intervalles actifs simultanément sur [from, to) : la charge maximale
+    // est atteinte en "from" ou au début d'un intervalle situé dans (from, to)
+    public int peakLoad(int from, int to) {
+        int first = lowerBound(from - this.maxLength);
+        int peak = loadAt(first, from);
+        for (int i = first; i < this.size && this.starts[i] < to; i++) {
+            if (this.starts[i] > from) {
+                peak = Math.max(peak, loadAt(first, this.starts[i]));
+            }
+        }
+        return peak;
+    }
+
+    private int loadAt(int first, int point) {
+        int load = 0;
+        for (int i = first; i < this.size && this.starts[i] <= point; i++) {
+            if (this.ends[i] > point) {
+                load++;
+            }
+        }
+        return load;
+    }
+
+    // Ajoute à out[count..] les fins d'intervalles comprises dans (from, to] : seuls instants où la
+    // charge diminue. out doit pouvoir recevoir size() valeurs de plus ; renvoie le nouveau nombre.
+    public int collectEndsIn(int from, int to, int[] out, int count) {
+        for (int i = lowerBound(from - this.maxLength); i < this.size && this.starts[i] < to; i++) {
+            if (this.ends[i] > from && this.ends[i] <= to) {
+                out[count++] = this.ends[i];
+            }
+        }
+        return count;
+    }
+
+    // Premier indice dont la date de début est >= value
+    private int lowerBound(int value) {
+        int lo = 0;
+        int hi = this.size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (this.starts[mid] < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,89 @@
+package main;
+
+import data.satellite.TransmissionInstance;
+import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.search.limits.FailCounter;
+
+import java.util.Collections;
+
+// Recherche à grand voisinage (LNS) sur le modèle Choco avec les voisinages de
+// TransmissionNeighborhood. La première solution est celle de l'heuristique gloutonne (démarrage
+// à chaud) ; chaque voisinage est exploré avec une limite d'échecs.
+public class LnsScheduler implements ScheduleSolver {
+    private final ModelOptions options;
+    private final String timeLimit;
+    private final long seed;
+    private final SearchOptions search;
+
+    public LnsScheduler(ModelOptions options, String timeLimit, long seed) {
+        this(options, timeLimit, seed, new SearchOptions());
+    }
+
+    public LnsScheduler(ModelOptions options, String timeLimit, long seed, SearchOptions search) {
+        this.options = options;
+        this.timeLimit = timeLimit;
+        this.seed = seed;
+        this.search = search;
+    }
+
+    @Override
+    public String getName() {
+        return "lns";
+    }
+
+    @Override
+    public Schedule solve(TransmissionInstance instance) {
+        TransmissionModel transmissionModel = new TransmissionModel(instance, this.options);
+        System.out.println("Modèle construit en " + transmissionModel.getBuildTimeMillis() + " ms (" + this.options + ")");
+        Solver solver = transmissionModel.getModel().getSolver();
+        boolean volume = transmissionModel.isMaximizing();
+        // Les bornes du makespan ne servent pas à l'objectif volume
+        LowerBounds bounds = volume ? null : LowerBounds.of(transmissionModel.getCompiled());
+        if (bounds != null) {
+            System.out.println("Prétraitement : " + bounds);
+        }
+        Schedule greedy = new GreedyScheduler().solve(instance);
+        // Planning de démarrage à chaud, solution du modèle : rendu si la recherche n'en retrouve aucune
+        Schedule warmSchedule = null;
+        if (volume) {
+            // Réduit aux transmissions terminées avant la fin de l'horizon, le planning est une solution
+            warmSchedule = greedy.truncate(transmissionModel.getUntil());
+            WarmStart.apply(transmissionModel, warmSchedule, this.search);
+        } else if (greedy.getTransmissions().size() == transmissionModel.getStartVars().size()) {
+            if (bounds.isReachedBy(greedy)) {
+                bounds.complete(greedy);
+                greedy.setBuildTimeMillis(transmissionModel.getBuildTimeMillis());
+                return greedy;
+            }
+            warmSchedule = greedy;
+            WarmStart.apply(transmissionModel, greedy, this.search);
+        } else {
+            this.search.apply(transmissionModel, Collections.emptyMap());
+        }
+        if (bounds != null) {
+            bounds.apply(transmissionModel);
+        }
+        solver.setLNS(new TransmissionNeighborhood(transmissionModel, this.seed),
+                new FailCounter(transmissionModel.getModel(), 200));
+        solver.plugMonitor(new ImprovementLogger(getName(), transmissionModel.getObjective()));
+        SolutionStream.attach(transmissionModel, getName());
+        SolverTelemetry telemetry = SolverTelemetry.attach(transmissionModel, getName());
+        solver.limitTime(this.timeLimit);
+
+        Solution solution = solver.findOptimalSolution(transmissionModel.getObjective(), volume);
+        telemetry.finish();
+        if (solution == null && warmSchedule == null) {
+            return null;
+        }
+        // La LNS n'explore pas tout l'espace de recherche : l'optimalité n'est prouvée que si la
+        // borne inférieure est atteinte
+        Schedule schedule = solution == null ? warmSchedule : Schedule.fromSolution(transmissionModel, solution);
+        if (bounds != null) {
+            bounds.complete(schedule);
+        }
+        schedule.setBuildTimeMillis(transmissionModel.getBuildTimeMillis());
+        schedule.setNodeCount(solver.getNodeCount());
+        return schedule;
+    }
+}
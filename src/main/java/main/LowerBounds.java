@@ -0,0 +1,220 @@
+package main;
+
+import org.chocosolver.solver.Solver;
+
+import java.util.*;
+import java.util.function.IntUnaryOperator;
+
+// Bornes inférieures rapides du makespan, calculées sur l'instance compilée et le prétraitement :
+// - chemin : plus long chemin de prédécesseurs à travers les fenêtres, depuis les dates de disponibilité ;
+// - satellites : raisonnement énergétique, les fichiers d'un satellite disponibles après t devant
+//   tenir dans ses fenêtres après t, avec au plus min(canaux du satellite, canaux de la station de la
+//   fenêtre) transmissions simultanées (des fichiers qui se chevauchent partagent la même fenêtre) ;
+// - stations : même raisonnement pour les fichiers dont toutes les fenêtres mènent à une même station.
+// Comme dans le modèle, seuls les fichiers traités (au moins une fenêtre viable) sont pris en compte.
+public class LowerBounds {
+    private final int pathBound;
+    private int satelliteBound;
+    private int stationBound;
+    // Nombre de fichiers traités, que tout planning du modèle complet contient
+    private int nbModelled;
+
+    public static LowerBounds of(CompiledInstance compiled) {
+        return new LowerBounds(compiled, Preprocessing.of(compiled));
+    }
+
+    private LowerBounds(CompiledInstance compiled, Preprocessing preprocessing) {
+        this.pathBound = preprocessing.getMakespanLowerBound();
+        int[] fileSatellite = compiled.getFileSatellite();
+        int[] satWindowOffset = compiled.getSatelliteWindowOffset();
+        int[] windowStation = compiled.getWindowStation();
+        int[] satelliteChannels = compiled.getSatelliteChannels();
+        int[] stationChannels = compiled.getStationChannels();
+        int[] satFileOffset = compiled.getSatelliteFileOffset();
+
+        // Par satellite : capacité limitée par les canaux du satellite et ceux de la station de la fenêtre
+        for (int k = 0; k < compiled.getNbSatellites(); k++) {
+            List<Integer> files = new ArrayList<>();
+            Set<Integer> windows = new TreeSet<>();
+            for (int f = satFileOffset[k]; f < satFileOffset[k + 1]; f++) {
+                if (!preprocessing.isModelled(f))
+                    continue;
+                this.nbModelled++;
+                files.add(f);
+                for (int w : preprocessing.getWindows(f)) {
+                    windows.add(satWindowOffset[k] + w);
+                }
+            }
+            int satellite = satelliteChannels[k];
+            this.satelliteBound = Math.max(this.satelliteBound, energeticBound(compiled, preprocessing, files, windows,
+                    g -> Math.min(satellite, stationChannels[windowStation[g]])));
+        }
+
+        // Par station : fichiers dont toutes les fenêtres retenues mènent à cette station
+        List<List<Integer>> stationFiles = new ArrayList<>();
+        List<Set<Integer>> stationWindows = new ArrayList<>();
+        for (int s = 0; s < compiled.getNbStations(); s++) {
+            stationFiles.add(new ArrayList<>());
+            stationWindows.add(new TreeSet<>());
+        }
+        for (int f = 0; f < compiled.getNbFiles(); f++) {
+            if (!preprocessing.isModelled(f) || preprocessing.getWindows(f).length == 0)
+                continue;
+            int offset = satWindowOffset[fileSatellite[f]];
+            int station = windowStation[offset + preprocessing.getWindows(f)[0]];
+            boolean single = true;
+            for (int w : preprocessing.getWindows(f)) {
+                single &= windowStation[offset + w] == station;
+            }
+            if (single) {
+                stationFiles.get(station).add(f);
+                for (int w : preprocessing.getWindows(f)) {
+                    stationWindows.get(station).add(offset + w);
+                }
+            }
+        }
+        for (int s = 0; s < compiled.getNbStations(); s++) {
+            int station = stationChannels[s];
+            this.stationBound = Math.max(this.stationBound, energeticBound(compiled, preprocessing, stationFiles.get(s),
+                    stationWindows.get(s), g -> station));
+        }
+    }
+
+    // Plus petite date T telle que, pour chaque seuil t (date au plus tôt d'un fichier), la durée
+    // totale des fichiers disponibles après t tienne dans la capacité des fenêtres entre t et T
+    private static int energeticBound(CompiledInstance compiled, Preprocessing preprocessing, List<Integer> files,
+                                      Set<Integer> windows, IntUnaryOperator capacity) {
+        if (files.isEmpty())
+            return 0;
+        int[] windowStart = compiled.getWindowStart();
+        int[] windowEnd = compiled.getWindowEnd();
+        int[] duration = compiled.getDuration();
+
+        // Profil de capacité : segments élémentaires entre les bornes des fenêtres, capacité maximale
+        // des fenêtres qui les couvrent, et capacité cumulée au début de chaque segment
+        int[] points = new int[2 * windows.size()];
+        int n = 0;
+        for (int g : windows) {
+            points[n++] = windowStart[g];
+            points[n++] = windowEnd[g];
+        }
+        points = Arrays.stream(points).distinct().sorted().toArray();
+        int nbSegments = points.length - 1;
+        int[] segmentCapacity = new int[Math.max(nbSegments, 0)];
+        for (int g : windows) {
+            int from = Arrays.binarySearch(points, windowStart[g]);
+            int to = Arrays.binarySearch(points, windowEnd[g]);
+            for (int i = from; i < to; i++) {
+                segmentCapacity[i] = Math.max(segmentCapacity[i], capacity.applyAsInt(g));
+            }
+        }
+        long[] cumulated = new long[points.length];
+        for (int i = 0; i < nbSegments; i++) {
+            cumulated[i + 1] = cumulated[i] + (long) segmentCapacity[i] * (points[i + 1] - points[i]);
+        }
+
+        // Seuils par date au plus tôt décroissante : l'énergie requise après t croît
+        Integer[] order = files.toArray(new Integer[0]);
+        Arrays.sort(order, (f1, f2) -> Integer.compare(preprocessing.getEarliestStart(f2), preprocessing.getEarliestStart(f1)));
+        int bound = 0;
+        long energy = 0;
+        for (int i = 0; i < order.length; i++) {
+            energy += duration[order[i]];
+            int t = preprocessing.getEarliestStart(order[i]);
+            if (i + 1 < order.length && preprocessing.getEarliestStart(order[i + 1]) == t)
+                continue;
+            long target = capacityBefore(points, segmentCapacity, cumulated, t) + energy;
+            if (target > cumulated[points.length - 1]) {
+                // Les fenêtres ne suffisent pas : aucun planning complet n'existe
+                return Integer.MAX_VALUE;
+            }
+            // Premier segment où la capacité cumulée atteint la cible
+            int low = 0;
+            int high = nbSegments - 1;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (cumulated[middle + 1] < target) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            int segment = low;
+            long missing = target - cumulated[segment];
+            int end = points[segment] + (int) ((missing + segmentCapacity[segment] - 1) / segmentCapacity[segment]);
+            bound = Math.max(bound, end);
+        }
+        return bound;
+    }
+
+    // Capacité cumulée des fenêtres avant la date t
+    private static long capacityBefore(int[] points, int[] segmentCapacity, long[] cumulated, int t) {
+        if (t <= points[0])
+            return 0;
+        if (t >= points[points.length - 1])
+            return cumulated[points.length - 1];
+        int i = Arrays.binarySearch(points, t);
+        if (i >= 0)
+            return cumulated[i];
+        int segment = -i - 2;
+        return cumulated[segment] + (long) segmentCapacity[segment] * (t - points[segment]);
+    }
+
+    // Le makespan est borné inférieurement dans le modèle, et la recherche s'arrête dès que le
+    // meilleur makespan trouvé atteint la borne (utile pour la LNS, qui ne prouve jamais l'optimalité).
+    // Sans effet pour l'objectif volume, où les fichiers non transmis ne comptent pas dans le makespan
+    public void apply(TransmissionModel transmissionModel) {
+        if (transmissionModel.isMaximizing())
+            return;
+        int bound = getBound();
+        transmissionModel.getModel().arithm(transmissionModel.getMakespan(), ">=", bound).post();
+        Solver solver = transmissionModel.getModel().getSolver();
+        solver.addStopCriterion(() -> solver.getSolutionCount() > 0
+                && solver.getObjectiveManager().getBestSolutionValue().intValue() <= bound);
+    }
+
+    // Vrai si le planning contient tous les fichiers traités et atteint la borne : il est optimal
+    // sans qu'il soit besoin de lancer la recherche
+    public boolean isReachedBy(Schedule schedule) {
+        return schedule.getTransmissions().size() == this.nbModelled && schedule.getMakespan() <= getBound();
+    }
+
+    // Reporte la borne sur un planning du modèle complet, optimal s'il l'atteint
+    public void complete(Schedule schedule) {
+        if (isInfeasible())
+            return;
+        schedule.setLowerBound(getBound());
+        if (schedule.getMakespan() <= getBound()) {
+            schedule.setProvenOptimal(true);
+        }
+    }
+
+    public int getPathBound() {
+        return this.pathBound;
+    }
+
+    public int getSatelliteBound() {
+        return this.satelliteBound;
+    }
+
+    public int getStationBound() {
+        return this.stationBound;
+    }
+
+    // Vrai si les fenêtres ne peuvent pas contenir tous les fichiers traités
+    public boolean isInfeasible() {
+        return getBound() == Integer.MAX_VALUE;
+    }
+
+    public int getBound() {
+        return Math.max(this.pathBound, Math.max(this.satelliteBound, this.stationBound));
+    }
+
+    @Override
+    public String toString() {
+        if (isInfeasible())
+            return "capacité des fenêtres insuffisante : aucun planning complet";
+        return "borne inférieure du makespan " + getBound() + " (chemin " + this.pathBound
+                + ", satellites " + this.satelliteBound + ", stations " + this.stationBound + ")";
+    }
+}
@@ -0,0 +1,91 @@
+package main;
+
+// Paramètres de construction du modèle Choco (variantes de formulation).
+public class ModelOptions {
+    private StationCapacityMode stationCapacityMode = StationCapacityMode.CUMULATIVE;
+    private OverlapMode overlapMode = OverlapMode.PAIRWISE;
+    private WindowMode windowMode = WindowMode.PROPAGATOR;
+    // Réduction des domaines par le prétraitement (Preprocessing) avant la construction
+    private boolean preprocessing = true;
+    private ObjectiveMode objectiveMode = ObjectiveMode.MAKESPAN;
+    // Fin de l'horizon de l'objectif volume, en minutes depuis BASE_TIME (-1 : fin de la dernière fenêtre)
+    private int until = -1;
+
+    public ModelOptions() {
+    }
+
+    public ModelOptions(ModelOptions other) {
+        this.stationCapacityMode = other.stationCapacityMode;
+        this.overlapMode = other.overlapMode;
+        this.windowMode = other.windowMode;
+        this.preprocessing = other.preprocessing;
+        this.objectiveMode = other.objectiveMode;
+        this.until = other.until;
+    }
+
+    public StationCapacityMode getStationCapacityMode() {
+        return this.stationCapacityMode;
+    }
+
+    public ModelOptions setStationCapacityMode(StationCapacityMode stationCapacityMode) {
+        this.stationCapacityMode = stationCapacityMode;
+        return this;
+    }
+
+    public OverlapMode getOverlapMode() {
+        return this.overlapMode;
+    }
+
+    public ModelOptions setOverlapMode(OverlapMode overlapMode) {
+        this.overlapMode = overlapMode;
+        return this;
+    }
+
+    public WindowMode getWindowMode() {
+        return this.windowMode;
+    }
+
+    public ModelOptions setWindowMode(WindowMode windowMode) {
+        this.windowMode = windowMode;
+        return this;
+    }
+
+    public boolean isPreprocessing() {
+        return this.preprocessing;
+    }
+
+    public ModelOptions setPreprocessing(boolean preprocessing) {
+        this.preprocessing = preprocessing;
+        return this;
+    }
+
+    public ObjectiveMode getObjectiveMode() {
+        return this.objectiveMode;
+    }
+
+    public ModelOptions setObjectiveMode(ObjectiveMode objectiveMode) {
+        this.objectiveMode = objectiveMode;
+        return this;
+    }
+
+    public int getUntil() {
+        return this.until;
+    }
+
+    public ModelOptions setUntil(int until) {
+        this.until = until;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "ModelOptions[" +
+                "stationCapacity: " + this.stationCapacityMode.getName() + ", " +
+                "overlap: " + this.overlapMode.getName() + ", " +
+                "window: " + this.windowMode.getName() +
+                (this.preprocessing ? "" : ", sans prétraitement") +
+                (this.objectiveMode == ObjectiveMode.MAKESPAN ? "" : ", objective: " + this.objectiveMode.getName()
+                        + (this.until < 0 ? "" : " avant " + this.until)) +
+                "]";
+    }
+}
@@ -0,0 +1,59 @@
+package main;
+
+import org.chocosolver.solver.Model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Profil de construction du modèle : temps, variables et contraintes créées par famille de contraintes.
+public class ModelProfile {
+    private final List<Family> families = new ArrayList<>();
+    private long startNanos;
+    private int startVariables;
+    private int startConstraints;
+
+    public static class Family {
+        private final String name;
+        private final double millis;
+        private final int variables;
+        private final int constraints;
+
+        Family(String name, double millis, int variables, int constraints) {
+            this.name = name;
+            this.millis = millis;
+            this.variables = variables;
+            this.constraints = constraints;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public double getMillis() {
+            return this.millis;
+        }
+
+        public int getVariables() {
+            return this.variables;
+        }
+
+        public int getConstraints() {
+            return this.constraints;
+        }
+    }
+
+    void begin(Model model) {
+        this.startNanos = System.nanoTime();
+        this.startVariables = model.getNbVars();
+        this.startConstraints = model.getNbCstrs();
+    }
+
+    void end(String family, Model model) {
+        this.families.add(new Family(family, (System.nanoTime() - this.startNanos) / 1e6,
+                model.getNbVars() - this.startVariables, model.getNbCstrs() - this.startConstraints));
+    }
+
+    public List<Family> getFamilies() {
+        return this.families;
+    }
+}
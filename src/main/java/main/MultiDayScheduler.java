@@ -0,0 +1,123 @@
+package main;
+
+import data.satellite.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Planification sur plusieurs jours : les fenêtres de transmission se répètent toutes les 24h.
+// Les répétitions sont ajoutées jour par jour, seulement tant qu'elles sont nécessaires :
+// d'abord jusqu'à ce que chaque fichier dispose d'une fenêtre viable, puis jusqu'à ce que le
+// planning glouton n'écarte plus aucun fichier transmissible. Le makespan glouton borne alors l'optimum, et aucune fenêtre
+// au-delà du dernier jour retenu ne peut l'améliorer.
+public class MultiDayScheduler implements ScheduleSolver {
+    static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final ScheduleSolver delegate;
+    private final int maxDays;
+
+    public MultiDayScheduler(ScheduleSolver delegate, int maxDays) {
+        this.delegate = delegate;
+        this.maxDays = maxDays;
+    }
+
+    @Override
+    public String getName() {
+        return "multi-day(" + this.delegate.getName() + ")";
+    }
+
+    @Override
+    public Schedule solve(TransmissionInstance instance) {
+        int days = requiredDaysForViability(instance);
+        TransmissionInstance expanded = expand(instance, days);
+        // Seuls les fichiers écartés faute de place peuvent profiter d'un jour de plus ; un fichier trop
+        // gros pour toute fenêtre ou pris dans un cycle de prédécesseurs ne sera jamais planifié
+        while (days < this.maxDays && new GreedyScheduler().solve(expanded).isPartial()) {
+            days++;
+            expanded = expand(instance, days);
+        }
+        System.out.println("Fenêtres répétées sur " + days + " jour(s)");
+
+        Schedule expandedSchedule = this.delegate.solve(expanded);
+        if (expandedSchedule == null) {
+            return null;
+        }
+        // Retour aux indices de fenêtre de l'instance d'origine, complétés par le jour de répétition
+        Schedule schedule = new Schedule();
+        for (Satellite satellite : instance.getSatellites()) {
+            int nbWindows = satellite.getTransmissionWindows().length;
+            for (data.satellite.File file : satellite.getFiles()) {
+                ScheduledTransmission transmission = expandedSchedule.get(file.getId());
+                if (transmission == null)
+                    continue;
+                schedule.add(new ScheduledTransmission(file.getId(), satellite.getId(),
+                        transmission.getWindowIndex() % nbWindows, transmission.getWindowIndex() / nbWindows,
+                        transmission.getStationId(), transmission.getStart(), transmission.getEnd()));
+            }
+        }
+        schedule.addUnscheduledOf(expandedSchedule);
+        schedule.setProvenOptimal(expandedSchedule.isProvenOptimal());
+        schedule.setLowerBound(expandedSchedule.getLowerBound());
+        schedule.setBuildTimeMillis(expandedSchedule.getBuildTimeMillis());
+        schedule.setNodeCount(expandedSchedule.getNodeCount());
+        return schedule;
+    }
+
+    // Nombre de jours nécessaire pour que chaque fichier ait au moins une fenêtre viable, borné par maxDays
+    private int requiredDaysForViability(TransmissionInstance instance) {
+        int days = 1;
+        Map<String, Double> stationRates = new HashMap<>();
+        for (Station station : instance.getStations()) {
+            stationRates.put(station.getId(), station.getDownlinkRate());
+        }
+        for (Satellite satellite : instance.getSatellites()) {
+            for (data.satellite.File file : satellite.getFiles()) {
+                int releaseTime = TransmissionModel.toMinutes(file.getReleaseDateTime());
+                for (int day = 0; day < this.maxDays; day++) {
+                    if (hasViableWindow(satellite, stationRates, releaseTime, file.getSize(), day)) {
+                        days = Math.max(days, day + 1);
+                        break;
+                    }
+                }
+            }
+        }
+        return days;
+    }
+
+    private static boolean hasViableWindow(Satellite satellite, Map<String, Double> stationRates, int releaseTime,
+                                           int size, int day) {
+        int offset = day * MINUTES_PER_DAY;
+        for (TransmissionWindow tw : satellite.getTransmissionWindows()) {
+            int winStart = TransmissionModel.toMinutes(tw.getStart()) + offset;
+            int winEnd = TransmissionModel.toMinutes(tw.getEnd()) + offset;
+            int duration = TransmissionModel.duration(size, TransmissionModel.rate(satellite.getDownlinkRate(),
+                    stationRates.getOrDefault(tw.getStationId(), 0.0)));
+            if (Math.max(releaseTime, winStart) + duration <= winEnd) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Instance dont les fenêtres sont répétées sur "days" jours ; la fenêtre w du jour d a
+    // l'indice d * nbFenêtres + w. Son identifiant est distinct de celui de l'instance d'origine : les
+    // plannings exportés en cours de recherche (--stream) sont dans cet espace d'indices
+    static TransmissionInstance expand(TransmissionInstance instance, int days) {
+        Satellite[] satellites = new Satellite[instance.getSatellites().length];
+        for (int k = 0; k < satellites.length; k++) {
+            Satellite satellite = instance.getSatellites()[k];
+            TransmissionWindow[] windows = satellite.getTransmissionWindows();
+            TransmissionWindow[] expandedWindows = new TransmissionWindow[windows.length * days];
+            for (int day = 0; day < days; day++) {
+                for (int w = 0; w < windows.length; w++) {
+                    expandedWindows[day * windows.length + w] = new TransmissionWindow(
+                            windows[w].getSatelliteId(), windows[w].getStationId(),
+                            windows[w].getStart().plusDays(day), windows[w].getEnd().plusDays(day));
+                }
+            }
+            satellites[k] = new Satellite(satellite.getId(), satellite.getNbTransmissionChannels(),
+                    satellite.getDownlinkRate(), satellite.getFiles(), expandedWindows);
+        }
+        return new TransmissionInstance(instance.getId() + "_jours" + days, instance.getStations(), satellites);
+    }
+}
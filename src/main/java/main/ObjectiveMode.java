@@ -0,0 +1,29 @@
+package main;
+
+// Critère optimisé par le modèle.
+public enum ObjectiveMode {
+    // Minimiser la fin de la dernière transmission, tous les fichiers traités étant planifiés
+    MAKESPAN("makespan"),
+    // Maximiser le volume téléchargé (somme des tailles des fichiers transmis) avant la fin de
+    // l'horizon : chaque fichier peut ne pas être transmis
+    VOLUME("volume");
+
+    private final String name;
+
+    ObjectiveMode(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public static ObjectiveMode fromName(String name) {
+        for (ObjectiveMode mode : values()) {
+            if (mode.name.equalsIgnoreCase(name)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Objectif inconnu : " + name);
+    }
+}
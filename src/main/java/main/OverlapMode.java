@@ -0,0 +1,28 @@
+package main;
+
+// Encodage de la contrainte "un satellite n'est relié qu'à une seule antenne à la fois".
+public enum OverlapMode {
+    // Un booléen de chevauchement réifié par paire de fichiers d'un même satellite
+    PAIRWISE("pairwise"),
+    // Un intervalle optionnel d'utilisation par fenêtre, disjonctif entre fenêtres d'un même satellite
+    WINDOW_SPANS("spans");
+
+    private final String name;
+
+    OverlapMode(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public static OverlapMode fromName(String name) {
+        for (OverlapMode mode : values()) {
+            if (mode.name.equalsIgnoreCase(name)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Mode de chevauchement inconnu : " + name);
+    }
+}
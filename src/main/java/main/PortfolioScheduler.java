@@ -0,0 +1,170 @@
+package main;
+
+import data.satellite.TransmissionInstance;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ParallelPortfolio;
+import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.search.limits.FailCounter;
+import org.chocosolver.solver.search.loop.lns.neighbors.RandomNeighborhood;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.search.strategy.selectors.values.IntDomainMin;
+import org.chocosolver.solver.search.strategy.selectors.variables.DomOverWDeg;
+import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
+import org.chocosolver.solver.variables.IntVar;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+// Résolution en portefeuille parallèle : N copies du modèle, chacune avec sa propre stratégie de
+// recherche, sont résolues simultanément. Choco partage la meilleure borne du makespan entre les
+// copies et arrête toutes les autres dès que l'une d'elles prouve l'optimalité.
+public class PortfolioScheduler implements ScheduleSolver {
+    private final ModelOptions options;
+    private final String timeLimit;
+    private final int workers;
+    private final boolean warmStart;
+
+    public PortfolioScheduler(ModelOptions options, String timeLimit, int workers, boolean warmStart) {
+        this.options = options;
+        this.timeLimit = timeLimit;
+        this.workers = workers;
+        this.warmStart = warmStart;
+    }
+
+    @Override
+    public String getName() {
+        return "portfolio(" + this.workers + ")";
+    }
+
+    @Override
+    public Schedule solve(TransmissionInstance instance) {
+        Schedule greedy = this.warmStart ? new GreedyScheduler().solve(instance) : null;
+        boolean volume = this.options.getObjectiveMode() == ObjectiveMode.VOLUME;
+        // Les bornes du makespan ne servent pas à l'objectif volume
+        LowerBounds bounds = volume ? null : LowerBounds.of(CompiledInstance.of(instance));
+        if (bounds != null) {
+            System.out.println("Prétraitement : " + bounds);
+        }
+        if (greedy != null && bounds != null && bounds.isReachedBy(greedy)) {
+            bounds.complete(greedy);
+            return greedy;
+        }
+
+        // Planning de démarrage à chaud, solution des modèles : rendu si aucune copie n'en retrouve
+        Schedule warmSchedule = null;
+        ParallelPortfolio portfolio = new ParallelPortfolio(false);
+        List<TransmissionModel> transmissionModels = new ArrayList<>();
+        List<Solution> bestSolutions = new ArrayList<>();
+        List<SolverTelemetry> telemetries = new ArrayList<>();
+        long buildStart = System.currentTimeMillis();
+        for (int worker = 0; worker < this.workers; worker++) {
+            TransmissionModel transmissionModel = new TransmissionModel(instance, this.options);
+            // Objectif volume : le planning glouton réduit à l'horizon guide aussi le choix des fichiers transmis
+            Map<IntVar, Integer> hints = Collections.emptyMap();
+            if (greedy != null && volume) {
+                Schedule truncated = greedy.truncate(transmissionModel.getUntil());
+                WarmStart.applyUpperBound(transmissionModel, truncated);
+                hints = WarmStart.hints(transmissionModel, truncated);
+                warmSchedule = truncated;
+            } else if (greedy != null && greedy.getTransmissions().size() == transmissionModel.getStartVars().size()) {
+                WarmStart.applyUpperBound(transmissionModel, greedy);
+                warmSchedule = greedy;
+            }
+            configureWorker(transmissionModel, worker, hints);
+            if (bounds != null) {
+                bounds.apply(transmissionModel);
+            }
+            SolutionStream.attach(transmissionModel, transmissionModel.getModel().getName());
+            telemetries.add(SolverTelemetry.attach(transmissionModel, transmissionModel.getModel().getName()));
+            Solver solver = transmissionModel.getModel().getSolver();
+            solver.limitTime(this.timeLimit);
+            Solution solution = new Solution(transmissionModel.getModel());
+            solver.attach(solution);
+            transmissionModels.add(transmissionModel);
+            bestSolutions.add(solution);
+            portfolio.addModel(transmissionModel.getModel());
+        }
+        long buildTimeMillis = System.currentTimeMillis() - buildStart;
+        System.out.println(this.workers + " modèles construits en " + buildTimeMillis + " ms (" + this.options + ")");
+
+        while (portfolio.solve()) {
+            Model finder = portfolio.getBestModel();
+            System.out.println("Portefeuille : " + this.options.getObjectiveMode().getName() + " " + finder.getSolver().getBestSolutionValue() +
+                    " trouvé par " + finder.getName());
+        }
+        telemetries.forEach(SolverTelemetry::finish);
+        Model best = portfolio.getBestModel();
+        if (best == null && warmSchedule != null) {
+            if (bounds != null) {
+                bounds.complete(warmSchedule);
+            }
+            warmSchedule.setBuildTimeMillis(buildTimeMillis);
+            return warmSchedule;
+        }
+        if (best == null) {
+            return null;
+        }
+        int index = portfolio.getModels().indexOf(best);
+        Schedule schedule = Schedule.fromSolution(transmissionModels.get(index), bestSolutions.get(index));
+        boolean provenOptimal = false;
+        long nodeCount = 0;
+        for (Model model : portfolio.getModels()) {
+            provenOptimal |= model.getSolver().isObjectiveOptimal();
+            nodeCount += model.getSolver().getNodeCount();
+        }
+        schedule.setProvenOptimal(provenOptimal);
+        if (bounds != null) {
+            bounds.complete(schedule);
+        }
+        schedule.setBuildTimeMillis(buildTimeMillis);
+        schedule.setNodeCount(nodeCount);
+        return schedule;
+    }
+
+    // Diversification des copies : choix de fenêtre d'abord par dom/wdeg, recherche par activités,
+    // LNS sur les dates de début, et recherche aléatoire avec redémarrages ; au-delà de quatre
+    // copies, les mêmes stratégies sont reprises avec d'autres graines.
+    private static void configureWorker(TransmissionModel transmissionModel, int worker, Map<IntVar, Integer> hints) {
+        Model model = transmissionModel.getModel();
+        Solver solver = model.getSolver();
+        IntVar[] windows = transmissionModel.getWindowChoiceArray();
+        IntVar[] starts = transmissionModel.getStartArray();
+        IntVar[] decisions = new IntVar[windows.length + starts.length];
+        System.arraycopy(windows, 0, decisions, 0, windows.length);
+        System.arraycopy(starts, 0, decisions, windows.length, starts.length);
+        long seed = worker / 4;
+        switch (worker % 4) {
+            case 0 -> {
+                model.setName("domOverWDeg-fenetres-" + seed);
+                AbstractStrategy<?> sequence = Search.sequencer(
+                        Search.intVarSearch(new DomOverWDeg(windows, seed), new IntDomainMin(), windows),
+                        Search.minDomLBSearch(starts));
+                solver.setSearch(Search.lastConflict(sequence));
+            }
+            case 1 -> {
+                model.setName("activites-" + seed);
+                solver.setSearch(Search.activityBasedSearch(decisions));
+            }
+            case 2 -> {
+                model.setName("lns-debuts-" + seed);
+                solver.setSearch(Search.lastConflict(
+                        Search.intVarSearch(new DomOverWDeg(decisions, seed), new IntDomainMin(), decisions)));
+                solver.setLNS(new RandomNeighborhood(starts, 4, seed), new FailCounter(model, 100));
+            }
+            default -> {
+                model.setName("aleatoire-redemarrages-" + seed);
+                solver.setSearch(Search.randomSearch(decisions, seed));
+                solver.setLubyRestart(100, new FailCounter(model, 1), 1000);
+            }
+        }
+        // Objectif volume : transmission des fichiers décidée d'abord, les plus gros en premier
+        AbstractStrategy<IntVar> sentSearch = SearchOptions.sentSearch(transmissionModel, hints);
+        if (sentSearch != null) {
+            solver.setSearch(Search.sequencer(sentSearch, solver.getSearch()));
+        }
+        solver.makeCompleteStrategy(true);
+    }
+}
@@ -0,0 +1,254 @@
+package main;
+
+import java.util.*;
+
+// Prétraitement de l'instance compilée avant la construction du modèle : propagation des dates au
+// plus tôt et au plus tard le long du graphe des prédécesseurs, en tenant compte des fenêtres, puis
+// élagage des fenêtres qui ne peuvent plus accueillir le fichier. Les réductions sont valides pour
+// le modèle : elles ne suppriment aucune solution, seulement des valeurs impossibles.
+// Comme dans le modèle, un fichier sans fenêtre viable isolément n'est pas traité, et les
+// prédécesseurs non traités ou absents de l'instance sont ignorés. Lorsque les débits varient d'une
+// fenêtre à l'autre, les dates des fenêtres utilisent la durée exacte de la fenêtre et les chaînes
+// de prédécesseurs la durée la plus courte du fichier.
+public class Preprocessing {
+    private final CompiledInstance compiled;
+
+    // Fenêtres retenues (indices locaux au satellite, triés) et bornes du début de chaque fichier
+    // traité ; null et -1 pour un fichier non traité
+    private final int[][] windows;
+    private final int[] earliestStart;
+    private final int[] latestStart;
+    private final boolean[] modelled;
+
+    // Fichiers pris dans un cycle de prédécesseurs ou en aval d'un cycle : leurs arcs sont ignorés
+    private final List<Integer> cycleFiles = new ArrayList<>();
+    // Fichiers dont la chaîne de prédécesseurs ne laisse aucune fenêtre : le modèle est infaisable,
+    // leurs domaines ne sont pas réduits
+    private final List<Integer> infeasibleFiles = new ArrayList<>();
+    private int makespanLowerBound;
+    private int nbPrunedWindows;
+
+    public static Preprocessing of(CompiledInstance compiled) {
+        Preprocessing preprocessing = new Preprocessing(compiled);
+        preprocessing.run();
+        return preprocessing;
+    }
+
+    private Preprocessing(CompiledInstance compiled) {
+        this.compiled = compiled;
+        int nbFiles = compiled.getNbFiles();
+        this.windows = new int[nbFiles][];
+        this.earliestStart = new int[nbFiles];
+        this.latestStart = new int[nbFiles];
+        this.modelled = new boolean[nbFiles];
+    }
+
+    private void run() {
+        int nbFiles = this.compiled.getNbFiles();
+        int[] release = this.compiled.getRelease();
+        int[] duration = this.compiled.getDuration();
+        int[] fileSatellite = this.compiled.getFileSatellite();
+        int[] satWindowOffset = this.compiled.getSatelliteWindowOffset();
+        int[] windowStart = this.compiled.getWindowStart();
+        int[] windowEnd = this.compiled.getWindowEnd();
+        int[] predOffset = this.compiled.getPredecessorOffset();
+        int[] preds = this.compiled.getPredecessors();
+        int[] succOffset = this.compiled.getSuccessorOffset();
+        int[] succs = this.compiled.getSuccessors();
+
+        // Fenêtres viables isolément, comme dans le modèle
+        for (int f = 0; f < nbFiles; f++) {
+            int k = fileSatellite[f];
+            int nbViable = 0;
+            int[] viable = new int[satWindowOffset[k + 1] - satWindowOffset[k]];
+            for (int w = 0; w < viable.length; w++) {
+                if (this.compiled.fits(f, satWindowOffset[k] + w)) {
+                    viable[nbViable++] = w;
+                }
+            }
+            this.modelled[f] = nbViable > 0;
+            this.windows[f] = this.modelled[f] ? Arrays.copyOf(viable, nbViable) : null;
+            this.earliestStart[f] = -1;
+            this.latestStart[f] = -1;
+        }
+
+        // Ordre topologique (Kahn) sur les fichiers traités
+        int[] pending = new int[nbFiles];
+        int[] order = new int[nbFiles];
+        int head = 0;
+        int tail = 0;
+        for (int f = 0; f < nbFiles; f++) {
+            if (!this.modelled[f])
+                continue;
+            for (int i = predOffset[f]; i < predOffset[f + 1]; i++) {
+                if (this.modelled[preds[i]]) {
+                    pending[f]++;
+                }
+            }
+            if (pending[f] == 0) {
+                order[tail++] = f;
+            }
+        }
+        while (head < tail) {
+            int f = order[head++];
+            for (int i = succOffset[f]; i < succOffset[f + 1]; i++) {
+                int s = succs[i];
+                if (this.modelled[s] && --pending[s] == 0) {
+                    order[tail++] = s;
+                }
+            }
+        }
+        boolean[] ordered = new boolean[nbFiles];
+        for (int i = 0; i < tail; i++) {
+            ordered[order[i]] = true;
+        }
+        for (int f = 0; f < nbFiles; f++) {
+            if (this.modelled[f] && !ordered[f]) {
+                this.cycleFiles.add(f);
+            }
+        }
+        boolean[] infeasible = new boolean[nbFiles];
+
+        // Passe avant : début au plus tôt dans une fenêtre, après la fin au plus tôt des prédécesseurs
+        int[] earliest = new int[nbFiles];
+        for (int f : this.cycleFiles) {
+            earliest[f] = earliestIn(f, release[f], Integer.MAX_VALUE);
+        }
+        for (int i = 0; i < tail; i++) {
+            int f = order[i];
+            int bound = release[f];
+            for (int j = predOffset[f]; j < predOffset[f + 1]; j++) {
+                int p = preds[j];
+                if (this.modelled[p]) {
+                    bound = Math.max(bound, earliest[p] + duration[p]);
+                }
+            }
+            earliest[f] = earliestIn(f, bound, Integer.MAX_VALUE);
+            if (earliest[f] < 0) {
+                // Aucune fenêtre après la chaîne : on garde les bornes de la fenêtre seule
+                infeasible[f] = true;
+                earliest[f] = earliestIn(f, release[f], Integer.MAX_VALUE);
+            }
+        }
+
+        // Passe arrière : fin au plus tard dans une fenêtre, avant le début au plus tard des successeurs
+        int[] latest = new int[nbFiles];
+        for (int f : this.cycleFiles) {
+            latest[f] = latestIn(f, earliest[f], Integer.MAX_VALUE);
+        }
+        for (int i = tail - 1; i >= 0; i--) {
+            int f = order[i];
+            int bound = Integer.MAX_VALUE;
+            for (int j = succOffset[f]; j < succOffset[f + 1]; j++) {
+                int s = succs[j];
+                if (this.modelled[s]) {
+                    bound = Math.min(bound, latest[s]);
+                }
+            }
+            latest[f] = latestIn(f, earliest[f], bound);
+            if (latest[f] < 0) {
+                infeasible[f] = true;
+                latest[f] = latestIn(f, release[f], Integer.MAX_VALUE);
+            }
+        }
+
+        // Élagage des fenêtres et borne inférieure du makespan (plus long chemin à travers les fenêtres)
+        for (int f = 0; f < nbFiles; f++) {
+            if (!this.modelled[f])
+                continue;
+            this.makespanLowerBound = Math.max(this.makespanLowerBound, earliest[f] + duration[f]);
+            if (infeasible[f]) {
+                this.infeasibleFiles.add(f);
+                this.earliestStart[f] = release[f];
+                this.latestStart[f] = Math.max(this.compiled.getHorizon(), release[f]);
+                continue;
+            }
+            int offset = satWindowOffset[fileSatellite[f]];
+            int[] kept = new int[this.windows[f].length];
+            int nbKept = 0;
+            for (int w : this.windows[f]) {
+                if (Math.max(earliest[f], windowStart[offset + w]) <= Math.min(latest[f], windowEnd[offset + w] - this.compiled.getDuration(f, offset + w))) {
+                    kept[nbKept++] = w;
+                }
+            }
+            this.nbPrunedWindows += this.windows[f].length - nbKept;
+            this.windows[f] = Arrays.copyOf(kept, nbKept);
+            this.earliestStart[f] = earliest[f];
+            this.latestStart[f] = latest[f];
+        }
+    }
+
+    // Plus petit début >= from dans une fenêtre viable du fichier, la transmission finissant au plus
+    // tard à "until" ; -1 s'il n'en existe pas
+    private int earliestIn(int f, int from, int until) {
+        int offset = this.compiled.getSatelliteWindowOffset()[this.compiled.getFileSatellite()[f]];
+        int best = -1;
+        for (int w : this.windows[f]) {
+            int start = Math.max(from, this.compiled.getWindowStart()[offset + w]);
+            if (start + this.compiled.getDuration(f, offset + w) <= Math.min(until, this.compiled.getWindowEnd()[offset + w]) && (best < 0 || start < best)) {
+                best = start;
+            }
+        }
+        return best;
+    }
+
+    // Plus grand début >= from dans une fenêtre viable du fichier, la transmission finissant au plus
+    // tard à "until" ; -1 s'il n'en existe pas
+    private int latestIn(int f, int from, int until) {
+        int offset = this.compiled.getSatelliteWindowOffset()[this.compiled.getFileSatellite()[f]];
+        int best = -1;
+        for (int w : this.windows[f]) {
+            int start = Math.min(until, this.compiled.getWindowEnd()[offset + w]) - this.compiled.getDuration(f, offset + w);
+            if (start >= Math.max(from, this.compiled.getWindowStart()[offset + w]) && start > best) {
+                best = start;
+            }
+        }
+        return best;
+    }
+
+    // Avertissements : cycles et chaînes infaisables (les prédécesseurs absents de l'instance sont
+    // signalés par le modèle)
+    public void printWarnings() {
+        if (!this.cycleFiles.isEmpty()) {
+            System.err.println("Cycle de prédécesseurs : précédences ignorées au prétraitement pour "
+                    + this.cycleFiles.size() + " fichier(s), dont " + this.compiled.getFileId(this.cycleFiles.get(0)));
+        }
+        for (int f : this.infeasibleFiles) {
+            System.err.println("Aucune fenêtre compatible avec les prédécesseurs de " + this.compiled.getFileId(f)
+                    + " : le modèle n'a pas de solution complète");
+        }
+    }
+
+    // Faux si le fichier n'a aucune fenêtre viable isolément (il n'est alors pas traité)
+    public boolean isModelled(int f) {
+        return this.modelled[f];
+    }
+
+    public int[] getWindows(int f) {
+        return this.windows[f];
+    }
+
+    public int getEarliestStart(int f) {
+        return this.earliestStart[f];
+    }
+
+    public int getLatestStart(int f) {
+        return this.latestStart[f];
+    }
+
+    public List<Integer> getCycleFiles() {
+        return this.cycleFiles;
+    }
+
+    public List<Integer> getInfeasibleFiles() {
+        return this.infeasibleFiles;
+    }
+
+    public int getMakespanLowerBound() {
+        return this.makespanLowerBound;
+    }
+
+    public int getNbPrunedWindows() {
+        return this.nbPrunedWindows;
+    }
+}
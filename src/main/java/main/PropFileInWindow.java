@@ -0,0 +1,102 @@
+package main;
+
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.constraints.PropagatorPriority;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.ESat;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+// Propagateur "le fichier tient dans la fenêtre choisie" : start doit appartenir à
+// [minStart[w], maxStart[w]] pour la fenêtre w = windowChoice, avec minStart[w] le début de la
+// fenêtre et maxStart[w] sa fin moins la durée du fichier.
+// Une fenêtre est retirée dès que sa plage ne contient plus aucune valeur de start, et start est
+// restreint à l'union des plages des fenêtres restantes (trous compris). Le filtrage est complet
+// en une passe : chaque valeur restante de l'une des variables a un support dans l'autre.
+public class PropFileInWindow extends Propagator<IntVar> {
+    private final int[] minStart;
+    private final int[] maxStart;
+    // Fenêtres par début croissant, pour parcourir l'union des plages dans l'ordre
+    private final int[] byStart;
+
+    public PropFileInWindow(IntVar start, IntVar windowChoice, int[] minStart, int[] maxStart) {
+        super(new IntVar[]{start, windowChoice}, PropagatorPriority.BINARY, false);
+        this.minStart = minStart;
+        this.maxStart = maxStart;
+        this.byStart = IntStream.range(0, minStart.length).boxed()
+                .sorted(Comparator.comparingInt(w -> minStart[w]))
+                .mapToInt(Integer::intValue).toArray();
+    }
+
+    @Override
+    public void propagate(int evtmask) throws ContradictionException {
+        IntVar start = this.vars[0];
+        IntVar windowChoice = this.vars[1];
+
+        // Fenêtres sans valeur de start dans leur plage
+        int ub = windowChoice.getUB();
+        for (int w = windowChoice.getLB(); w <= ub; w = windowChoice.nextValue(w)) {
+            if (!hasSupport(start, w)) {
+                windowChoice.removeValue(w, this);
+            }
+        }
+
+        // Union des plages restantes : bornes de start et trous entre les plages
+        int low = Integer.MAX_VALUE;
+        int high = Integer.MIN_VALUE;
+        int reached = Integer.MIN_VALUE;
+        for (int w : this.byStart) {
+            if (!windowChoice.contains(w))
+                continue;
+            if (low == Integer.MAX_VALUE) {
+                low = this.minStart[w];
+            } else if (this.minStart[w] > reached + 1) {
+                start.removeInterval(reached + 1, this.minStart[w] - 1, this);
+            }
+            reached = Math.max(reached, this.maxStart[w]);
+            high = Math.max(high, this.maxStart[w]);
+        }
+        start.updateBounds(low, high, this);
+
+        if (windowChoice.isInstantiated()) {
+            setPassive();
+        }
+    }
+
+    // Vrai si start a une valeur dans la plage de la fenêtre w
+    private boolean hasSupport(IntVar start, int w) {
+        if (w < 0 || w >= this.minStart.length)
+            return false;
+        int value = start.nextValue(this.minStart[w] - 1);
+        return value <= this.maxStart[w];
+    }
+
+    @Override
+    public ESat isEntailed() {
+        IntVar start = this.vars[0];
+        IntVar windowChoice = this.vars[1];
+        boolean supported = false;
+        boolean all = true;
+        int ub = windowChoice.getUB();
+        for (int w = windowChoice.getLB(); w <= ub; w = windowChoice.nextValue(w)) {
+            if (hasSupport(start, w)) {
+                supported = true;
+                all &= w < this.minStart.length && this.minStart[w] <= start.getLB() && start.getUB() <= this.maxStart[w];
+            } else {
+                all = false;
+            }
+        }
+        if (!supported)
+            return ESat.FALSE;
+        return all ? ESat.TRUE : ESat.UNDEFINED;
+    }
+
+    @Override
+    public String toString() {
+        return "FileInWindow(" + this.vars[0].getName() + ", " + this.vars[1].getName() + ", "
+                + Arrays.toString(this.minStart) + ", " + Arrays.toString(this.maxStart) + ")";
+    }
+}
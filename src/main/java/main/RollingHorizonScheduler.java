@@ -0,0 +1,253 @@
+package main;
+
+import data.satellite.TransmissionInstance;
+
+import java.util.*;
+
+// Résolution à horizon glissant : la ligne de temps est découpée en blocs [t, t + longueur + recouvrement)
+// résolus l'un après l'autre par le moteur délégué, sur une sous-instance ne contenant que les fichiers
+// en attente disponibles avant la fin du bloc et les fenêtres tronquées au bloc. Seules les
+// transmissions terminées avant t + longueur sont validées ; le bloc suivant commence à cette date,
+// si bien qu'aucune transmission validée n'y occupe de canal. Les fichiers non validés sont reportés,
+// et un prédécesseur validé devient une date de disponibilité (sa fin) pour ses successeurs. Un fichier
+// dont un prédécesseur est encore en attente hors du bloc attend le bloc suivant.
+// La taille de chaque modèle est bornée par maxBlockFiles : au-delà, seuls les fichiers disponibles le
+// plus tôt entrent dans le bloc, les autres attendent le suivant. La mémoire reste ainsi bornée et le
+// temps croît linéairement avec l'horizon, au prix de l'optimalité globale. Sur demande, et lorsque
+// l'instance entière tient elle-même dans un bloc, elle est aussi résolue d'un seul tenant pour
+// mesurer ce prix (une seconde résolution complète, avec la même limite de temps).
+public class RollingHorizonScheduler implements ScheduleSolver {
+    private final ScheduleSolver delegate;
+    // Longueur validée de chaque bloc et recouvrement avec le suivant, en minutes
+    private final int blockLength;
+    private final int overlap;
+    // Nombre maximal de fichiers du modèle d'un bloc
+    private final int maxBlockFiles;
+    private boolean compareMonolithic;
+
+    public RollingHorizonScheduler(ScheduleSolver delegate, int blockLength, int overlap, int maxBlockFiles) {
+        if (blockLength <= 0 || overlap < 0 || maxBlockFiles <= 0) {
+            throw new IllegalArgumentException("Longueur de bloc, recouvrement ou nombre de fichiers par bloc invalide : "
+                    + blockLength + ", " + overlap + ", " + maxBlockFiles);
+        }
+        this.delegate = delegate;
+        this.blockLength = blockLength;
+        this.overlap = overlap;
+        this.maxBlockFiles = maxBlockFiles;
+    }
+
+    public RollingHorizonScheduler setCompareMonolithic(boolean compareMonolithic) {
+        this.compareMonolithic = compareMonolithic;
+        return this;
+    }
+
+    @Override
+    public String getName() {
+        return "rolling(" + this.delegate.getName() + ")";
+    }
+
+    @Override
+    public Schedule solve(TransmissionInstance instance) {
+        CompiledInstance compiled = CompiledInstance.of(instance);
+        int nbFiles = compiled.getNbFiles();
+        int[] release = compiled.getRelease();
+        int[] duration = compiled.getDuration();
+        int[] satWindowOffset = compiled.getSatelliteWindowOffset();
+        int[] windowStart = compiled.getWindowStart();
+        int[] windowEnd = compiled.getWindowEnd();
+        int[] predOffset = compiled.getPredecessorOffset();
+        int[] preds = compiled.getPredecessors();
+        int horizon = compiled.getHorizon();
+
+        // Une transmission plus longue que la partie validée ne serait jamais validée avant le dernier bloc
+        int length = this.blockLength;
+        int longest = Arrays.stream(duration).max().orElse(0);
+        if (longest > length) {
+            System.err.println("Blocs allongés à " + longest + " minutes, durée de la plus longue transmission");
+            length = longest;
+        }
+
+        // Fichiers par date de disponibilité croissante : chaque bloc ne parcourt que les nouveaux
+        // fichiers disponibles et les fichiers reportés
+        Integer[] byRelease = new Integer[nbFiles];
+        for (int f = 0; f < nbFiles; f++) {
+            byRelease[f] = f;
+        }
+        Arrays.sort(byRelease, Comparator.comparingInt(f -> release[f]));
+        int nextRelease = 0;
+
+        ScheduledTransmission[] committed = new ScheduledTransmission[nbFiles];
+        List<Integer> pending = new ArrayList<>();
+        Schedule schedule = new Schedule();
+        int nbBlocks = 0;
+        long startMillis = System.currentTimeMillis();
+        int first = Arrays.stream(windowStart).min().orElse(0);
+        for (int from = first, step = length; from < horizon; from += step) {
+            step = length;
+            int to = from + length + this.overlap;
+            boolean last = to >= horizon;
+            while (nextRelease < nbFiles && release[byRelease[nextRelease]] < to) {
+                pending.add(byRelease[nextRelease++]);
+            }
+            if (pending.isEmpty())
+                continue;
+
+            // Date de disponibilité dans le bloc : début du bloc, fin des prédécesseurs validés
+            Map<Integer, Integer> blockRelease = new HashMap<>();
+            for (int f : pending) {
+                int earliest = Math.max(release[f], from);
+                for (int i = predOffset[f]; i < predOffset[f + 1]; i++) {
+                    if (committed[preds[i]] != null) {
+                        earliest = Math.max(earliest, committed[preds[i]].getEnd());
+                    }
+                }
+                if (earliest < to && fitsBlock(compiled, f, earliest, from, to)) {
+                    blockRelease.put(f, earliest);
+                }
+            }
+            // Bloc limité aux maxBlockFiles fichiers disponibles le plus tôt ; la partie validée s'arrête
+            // alors à la disponibilité du premier fichier écarté (au moins la plus longue transmission),
+            // pour que le bloc suivant le reprenne sans qu'il ait perdu ses fenêtres
+            if (blockRelease.size() > this.maxBlockFiles) {
+                int available = blockRelease.size();
+                List<Integer> byEarliest = new ArrayList<>(blockRelease.keySet());
+                byEarliest.sort(Comparator.comparingInt((Integer f) -> blockRelease.get(f)).thenComparingInt(f -> f));
+                int cutoff = blockRelease.get(byEarliest.get(this.maxBlockFiles));
+                byEarliest.subList(this.maxBlockFiles, available).forEach(blockRelease::remove);
+                step = Math.min(length, Math.max(longest, cutoff - from));
+                last = false;
+                System.out.println("Bloc " + (nbBlocks + 1) + " limité à " + this.maxBlockFiles + " fichier(s) sur "
+                        + available + " disponibles, partie validée de " + step + " minutes");
+            }
+            // Un prédécesseur en attente doit faire partie du bloc
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (Iterator<Integer> it = blockRelease.keySet().iterator(); it.hasNext(); ) {
+                    int f = it.next();
+                    for (int i = predOffset[f]; i < predOffset[f + 1]; i++) {
+                        if (committed[preds[i]] == null && !blockRelease.containsKey(preds[i])) {
+                            it.remove();
+                            changed = true;
+                            break;
+                        }
+                    }
+                }
+            }
+            if (blockRelease.isEmpty())
+                continue;
+
+            // Sous-instance du bloc : fenêtres tronquées à [from, to), indices d'origine conservés à part
+            CompiledInstance.Builder builder = new CompiledInstance.Builder()
+                    .setId(compiled.getId() + "_bloc" + nbBlocks);
+            for (int s = 0; s < compiled.getNbStations(); s++) {
+                builder.addStation(compiled.getStationId(s), compiled.getStationChannels()[s], compiled.getStationRate()[s]);
+            }
+            Map<String, int[]> windowOrigin = new HashMap<>();
+            int[] satFileOffset = compiled.getSatelliteFileOffset();
+            for (int k = 0; k < compiled.getNbSatellites(); k++) {
+                builder.addSatellite(compiled.getSatelliteId(k), compiled.getSatelliteChannels()[k], compiled.getSatelliteRate()[k]);
+                for (int f = satFileOffset[k]; f < satFileOffset[k + 1]; f++) {
+                    Integer earliest = blockRelease.get(f);
+                    if (earliest == null)
+                        continue;
+                    List<String> blockPreds = new ArrayList<>();
+                    for (int i = predOffset[f]; i < predOffset[f + 1]; i++) {
+                        if (committed[preds[i]] == null) {
+                            blockPreds.add(compiled.getFileId(preds[i]));
+                        }
+                    }
+                    builder.addFile(compiled.getFileId(f), compiled.getSize()[f], earliest, blockPreds.toArray(new String[0]));
+                }
+                int[] origin = new int[satWindowOffset[k + 1] - satWindowOffset[k]];
+                int nbWindows = 0;
+                for (int g = satWindowOffset[k]; g < satWindowOffset[k + 1]; g++) {
+                    int start = Math.max(windowStart[g], from);
+                    int end = Math.min(windowEnd[g], to);
+                    if (start < end) {
+                        builder.addWindow(compiled.getStationId(compiled.getWindowStation()[g]), start, end);
+                        origin[nbWindows++] = g - satWindowOffset[k];
+                    }
+                }
+                windowOrigin.put(compiled.getSatelliteId(k), origin);
+            }
+            CompiledInstance block = builder.build();
+            nbBlocks++;
+
+            Schedule part = this.delegate.solve(block.getInstance());
+            if (part == null) {
+                // Sans solution du moteur dans le temps imparti, l'heuristique gloutonne prend le relais
+                part = new GreedyScheduler().solve(block);
+            }
+            schedule.setBuildTimeMillis(schedule.getBuildTimeMillis() + part.getBuildTimeMillis());
+            schedule.setNodeCount(schedule.getNodeCount() + part.getNodeCount());
+
+            // Validation des transmissions terminées avant la fin de la partie validée (toutes au dernier bloc)
+            int commitEnd = from + step;
+            int nbCommitted = 0;
+            for (ScheduledTransmission transmission : part.getTransmissions()) {
+                if (!last && transmission.getEnd() > commitEnd)
+                    continue;
+                int f = compiled.indexOfFile(transmission.getFileId());
+                ScheduledTransmission validated = new ScheduledTransmission(transmission.getFileId(), transmission.getSatelliteId(),
+                        windowOrigin.get(transmission.getSatelliteId())[transmission.getWindowIndex()],
+                        transmission.getStationId(), transmission.getStart(), transmission.getEnd());
+                committed[f] = validated;
+                schedule.add(validated);
+                nbCommitted++;
+            }
+            pending.removeIf(f -> committed[f] != null);
+            System.out.println("Bloc " + nbBlocks + " [" + from + ", " + to + ") : " + blockRelease.size() + " fichier(s), "
+                    + nbCommitted + " validé(s), " + pending.size() + " reporté(s)");
+        }
+        for (int f = 0; f < nbFiles; f++) {
+            if (committed[f] == null && fitsBlock(compiled, f, release[f], first, horizon)) {
+                schedule.addDropped(compiled.getFileId(f));
+            } else if (committed[f] == null) {
+                schedule.addUnscheduled(compiled.getFileId(f));
+            }
+        }
+        System.out.println("Horizon glissant : " + nbBlocks + " bloc(s) d'au plus " + length + " + " + this.overlap + " minutes en "
+                + (System.currentTimeMillis() - startMillis) + " ms");
+
+        // Borne de l'instance entière, pour mesurer ce que coûte le découpage
+        LowerBounds bounds = LowerBounds.of(compiled);
+        if (!bounds.isInfeasible() && !schedule.isPartial()) {
+            schedule.setLowerBound(bounds.getBound());
+            schedule.setProvenOptimal(bounds.isReachedBy(schedule));
+        }
+        if (this.compareMonolithic && nbFiles <= this.maxBlockFiles) {
+            compareWithMonolithic(instance, schedule);
+        } else if (this.compareMonolithic) {
+            System.out.println("Modèle complet : pas de comparaison, l'instance dépasse " + this.maxBlockFiles + " fichiers");
+        }
+        return schedule;
+    }
+
+    // Résolution de l'instance entière par le moteur délégué, et écart de makespan du découpage
+    private void compareWithMonolithic(TransmissionInstance instance, Schedule schedule) {
+        Schedule monolithic = this.delegate.solve(instance);
+        if (monolithic == null || monolithic.isPartial() || schedule.isPartial()) {
+            System.out.println("Modèle complet : pas de comparaison, l'un des plannings est absent ou incomplet");
+            return;
+        }
+        int makespan = schedule.getMakespan();
+        System.out.println(String.format(Locale.ROOT, "Horizon glissant : makespan %d, modèle complet %d (%s), écart %.1f %%",
+                makespan, monolithic.getMakespan(), monolithic.isProvenOptimal() ? "optimal" : "non prouvé",
+                makespan == 0 ? 0.0 : 100.0 * (makespan - monolithic.getMakespan()) / makespan));
+        schedule.setMonolithicMakespan(monolithic.getMakespan());
+    }
+
+    // Vrai si le fichier tient dans l'une des fenêtres de son satellite tronquées au bloc
+    private static boolean fitsBlock(CompiledInstance compiled, int f, int earliest, int from, int to) {
+        int k = compiled.getFileSatellite()[f];
+        int[] satWindowOffset = compiled.getSatelliteWindowOffset();
+        for (int g = satWindowOffset[k]; g < satWindowOffset[k + 1]; g++) {
+            int start = Math.max(Math.max(compiled.getWindowStart()[g], from), earliest);
+            if (start + compiled.getDuration(f, g) <= Math.min(compiled.getWindowEnd()[g], to)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,184 @@
+package main;
+
+import org.chocosolver.solver.Solution;
+
+import java.util.*;
+
+// Planning de téléchargement : une affectation par fichier planifié, et la liste des fichiers non planifiés.
+public class Schedule {
+    private final Map<String, ScheduledTransmission> transmissions = new LinkedHashMap<>();
+    private final List<String> unscheduledFileIds = new ArrayList<>();
+    // Parmi les fichiers non planifiés, ceux qui tenaient dans une fenêtre mais n'ont pas pu être placés
+    private final List<String> droppedFileIds = new ArrayList<>();
+    private boolean provenOptimal;
+    // Statistiques de résolution : temps de construction du modèle et nombre de nœuds explorés
+    private long buildTimeMillis;
+    private long nodeCount;
+    // Borne inférieure du makespan (LowerBounds), -1 si elle n'a pas été calculée
+    private int lowerBound = -1;
+    // Makespan de l'instance résolue d'un seul tenant, pour un planning à horizon glissant, -1 sinon
+    private int monolithicMakespan = -1;
+
+    public void add(ScheduledTransmission transmission) {
+        this.transmissions.put(transmission.getFileId(), transmission);
+    }
+
+    public void addUnscheduled(String fileId) {
+        this.unscheduledFileIds.add(fileId);
+    }
+
+    public void addDropped(String fileId) {
+        this.unscheduledFileIds.add(fileId);
+        this.droppedFileIds.add(fileId);
+    }
+
+    // Reprend les fichiers non planifiés d'un autre planning, en distinguant toujours ceux qui auraient pu l'être
+    public void addUnscheduledOf(Schedule other) {
+        Set<String> dropped = new HashSet<>(other.droppedFileIds);
+        for (String fileId : other.unscheduledFileIds) {
+            if (dropped.contains(fileId)) {
+                addDropped(fileId);
+            } else {
+                addUnscheduled(fileId);
+            }
+        }
+    }
+
+    public ScheduledTransmission get(String fileId) {
+        return this.transmissions.get(fileId);
+    }
+
+    public Collection<ScheduledTransmission> getTransmissions() {
+        return this.transmissions.values();
+    }
+
+    public List<String> getUnscheduledFileIds() {
+        return this.unscheduledFileIds;
+    }
+
+    public List<String> getDroppedFileIds() {
+        return this.droppedFileIds;
+    }
+
+    public boolean isComplete() {
+        return this.unscheduledFileIds.isEmpty();
+    }
+
+    // Vrai si des fichiers transmissibles n'ont pas été placés : pour l'objectif makespan, le planning
+    // n'est alors pas une solution et son makespan ne se compare pas à celui d'un planning complet
+    public boolean isPartial() {
+        return !this.droppedFileIds.isEmpty();
+    }
+
+    public boolean isProvenOptimal() {
+        return this.provenOptimal;
+    }
+
+    public void setProvenOptimal(boolean provenOptimal) {
+        this.provenOptimal = provenOptimal;
+    }
+
+    public long getBuildTimeMillis() {
+        return this.buildTimeMillis;
+    }
+
+    public void setBuildTimeMillis(long buildTimeMillis) {
+        this.buildTimeMillis = buildTimeMillis;
+    }
+
+    public long getNodeCount() {
+        return this.nodeCount;
+    }
+
+    public void setNodeCount(long nodeCount) {
+        this.nodeCount = nodeCount;
+    }
+
+    public int getLowerBound() {
+        return this.lowerBound;
+    }
+
+    public void setLowerBound(int lowerBound) {
+        this.lowerBound = lowerBound;
+    }
+
+    public int getMonolithicMakespan() {
+        return this.monolithicMakespan;
+    }
+
+    public void setMonolithicMakespan(int monolithicMakespan) {
+        this.monolithicMakespan = monolithicMakespan;
+    }
+
+    // Écart relatif entre le makespan et la borne inférieure, -1 si la borne est inconnue
+    public double getGap() {
+        int makespan = getMakespan();
+        if (this.lowerBound < 0)
+            return -1;
+        return makespan == 0 ? 0 : Math.max(0, makespan - this.lowerBound) / (double) makespan;
+    }
+
+    // Durée totale du planning : fin maximale des transmissions planifiées
+    public int getMakespan() {
+        int makespan = 0;
+        for (ScheduledTransmission transmission : this.transmissions.values()) {
+            makespan = Math.max(makespan, transmission.getEnd());
+        }
+        return makespan;
+    }
+
+    // Volume téléchargé : somme des tailles des fichiers planifiés, en Mo
+    public long getVolume(CompiledInstance compiled) {
+        long volume = 0;
+        for (ScheduledTransmission transmission : this.transmissions.values()) {
+            int f = compiled.indexOfFile(transmission.getFileId());
+            if (f >= 0) {
+                volume += compiled.getSize()[f];
+            }
+        }
+        return volume;
+    }
+
+    // Planning réduit aux transmissions terminées au plus tard à "until", les autres fichiers n'étant
+    // pas transmis (les successeurs d'une transmission écartée se terminent après elle et le sont aussi)
+    public Schedule truncate(int until) {
+        Schedule truncated = new Schedule();
+        for (ScheduledTransmission transmission : this.transmissions.values()) {
+            if (transmission.getEnd() <= until) {
+                truncated.add(transmission);
+            } else {
+                truncated.addUnscheduled(transmission.getFileId());
+            }
+        }
+        truncated.addUnscheduledOf(this);
+        truncated.setBuildTimeMillis(this.buildTimeMillis);
+        truncated.setNodeCount(this.nodeCount);
+        return truncated;
+    }
+
+    // Extraction du planning correspondant à une solution du modèle Choco
+    public static Schedule fromSolution(TransmissionModel transmissionModel, Solution solution) {
+        Schedule schedule = new Schedule();
+        CompiledInstance compiled = transmissionModel.getCompiled();
+        int[] fileSatellite = compiled.getFileSatellite();
+        int[] satWindowOffset = compiled.getSatelliteWindowOffset();
+        for (int f = 0; f < compiled.getNbFiles(); f++) {
+            if (transmissionModel.getStartVar(f) == null
+                    || (transmissionModel.getSentVar(f) != null && solution.getIntVal(transmissionModel.getSentVar(f)) == 0)) {
+                schedule.addUnscheduled(compiled.getFileId(f));
+                continue;
+            }
+            int k = fileSatellite[f];
+            int windowIndex = solution.getIntVal(transmissionModel.getWindowChoiceVar(f));
+            schedule.add(new ScheduledTransmission(
+                    compiled.getFileId(f),
+                    compiled.getSatelliteId(k),
+                    windowIndex,
+                    compiled.getStationId(compiled.getWindowStation()[satWindowOffset[k] + windowIndex]),
+                    solution.getIntVal(transmissionModel.getStartVar(f)),
+                    solution.getIntVal(transmissionModel.getEndVar(f))
+            ));
+        }
+        return schedule;
+    }
+}
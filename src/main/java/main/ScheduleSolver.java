@@ -0,0 +1,11 @@
+package main;
+
+import data.satellite.TransmissionInstance;
+
+// Moteur de résolution produisant un planning pour une instance de transmission.
+public interface ScheduleSolver {
+
+    String getName();
+
+    Schedule solve(TransmissionInstance instance);
+}
@@ -0,0 +1,150 @@
+package main;
+
+import data.satellite.*;
+
+import java.util.*;
+
+// Vérification indépendante d'un planning par balayage : chaque contrainte du problème est
+// rejouée directement sur l'instance, sans passer par le modèle Choco. Les capacités sont
+// contrôlées à chaque événement de début ou de fin, donc de manière exacte.
+// Un fichier transmis suppose ses prédécesseurs transmis ; pour l'objectif makespan, un prédécesseur
+// qui ne tient dans aucune fenêtre est écarté sans contraindre ses successeurs, comme dans le modèle.
+public class ScheduleValidator {
+
+    public static List<String> validate(TransmissionInstance instance, Schedule schedule) {
+        return validate(instance, schedule, false);
+    }
+
+    // optional : fichiers optionnels (objectif volume), tout prédécesseur non transmis est une violation
+    public static List<String> validate(TransmissionInstance instance, Schedule schedule, boolean optional) {
+        List<String> violations = new ArrayList<>();
+        Map<String, Station> stationsById = new HashMap<>();
+        for (Station station : instance.getStations()) {
+            stationsById.put(station.getId(), station);
+        }
+        Map<String, Satellite> satelliteByFile = new HashMap<>();
+        Map<String, data.satellite.File> filesById = new HashMap<>();
+        for (Satellite satellite : instance.getSatellites()) {
+            for (data.satellite.File file : satellite.getFiles()) {
+                satelliteByFile.put(file.getId(), satellite);
+                filesById.put(file.getId(), file);
+            }
+        }
+        Map<String, List<ScheduledTransmission>> byStation = new HashMap<>();
+
+        for (Satellite satellite : instance.getSatellites()) {
+            TransmissionWindow[] windows = satellite.getTransmissionWindows();
+            List<ScheduledTransmission> satelliteTransmissions = new ArrayList<>();
+            for (data.satellite.File file : satellite.getFiles()) {
+                ScheduledTransmission transmission = schedule.get(file.getId());
+                if (transmission == null)
+                    continue;
+                satelliteTransmissions.add(transmission);
+                // Durée au débit de la station effectivement utilisée
+                Station station = stationsById.get(transmission.getStationId());
+                int duration = TransmissionModel.duration(file.getSize(), TransmissionModel.rate(satellite.getDownlinkRate(),
+                        station == null ? 0 : station.getDownlinkRate()));
+                if (transmission.getEnd() - transmission.getStart() != duration) {
+                    violations.add(file.getId() + " : durée " + (transmission.getEnd() - transmission.getStart()) + " au lieu de " + duration);
+                }
+                if (transmission.getStart() < TransmissionModel.toMinutes(file.getReleaseDateTime())) {
+                    violations.add(file.getId() + " : début " + transmission.getStart() + " avant la prise de vue");
+                }
+                if (transmission.getWindowIndex() < 0 || transmission.getWindowIndex() >= windows.length) {
+                    violations.add(file.getId() + " : fenêtre " + transmission.getWindowIndex() + " inexistante");
+                    continue;
+                }
+                TransmissionWindow window = windows[transmission.getWindowIndex()];
+                int dayOffset = transmission.getDay() * MultiDayScheduler.MINUTES_PER_DAY;
+                if (transmission.getStart() < TransmissionModel.toMinutes(window.getStart()) + dayOffset
+                        || transmission.getEnd() > TransmissionModel.toMinutes(window.getEnd()) + dayOffset) {
+                    violations.add(file.getId() + " : hors de sa fenêtre " + window + " (jour " + transmission.getDay() + ")");
+                }
+                if (!window.getStationId().equals(transmission.getStationId())) {
+                    violations.add(file.getId() + " : station " + transmission.getStationId() + " différente de celle de la fenêtre");
+                }
+                byStation.computeIfAbsent(window.getStationId(), key -> new ArrayList<>()).add(transmission);
+                if (file.getPredecessors() != null) {
+                    for (String predId : file.getPredecessors()) {
+                        ScheduledTransmission pred = schedule.get(predId);
+                        if (pred != null && pred.getEnd() > transmission.getStart()) {
+                            violations.add(file.getId() + " : débute avant la fin de son prédécesseur " + predId);
+                        } else if (pred == null && filesById.containsKey(predId) && (optional
+                                || fitsSomeWindow(filesById.get(predId), satelliteByFile.get(predId), stationsById))) {
+                            violations.add(file.getId() + " : transmis sans son prédécesseur " + predId);
+                        }
+                    }
+                }
+            }
+            checkCapacity("satellite " + satellite.getId(), satelliteTransmissions, satellite.getNbTransmissionChannels(), violations);
+            checkSingleWindow(satellite, satelliteTransmissions, violations);
+        }
+
+        for (Map.Entry<String, List<ScheduledTransmission>> entry : byStation.entrySet()) {
+            Station station = stationsById.get(entry.getKey());
+            if (station == null) {
+                violations.add("station " + entry.getKey() + " inconnue");
+                continue;
+            }
+            checkCapacity("station " + station.getId(), entry.getValue(), station.getNbChannels(), violations);
+        }
+        return violations;
+    }
+
+    // Vrai si le fichier tient dans l'une des fenêtres de son satellite, après sa prise de vue
+    private static boolean fitsSomeWindow(data.satellite.File file, Satellite satellite, Map<String, Station> stationsById) {
+        int release = TransmissionModel.toMinutes(file.getReleaseDateTime());
+        for (TransmissionWindow window : satellite.getTransmissionWindows()) {
+            Station station = stationsById.get(window.getStationId());
+            int duration = TransmissionModel.duration(file.getSize(), TransmissionModel.rate(satellite.getDownlinkRate(),
+                    station == null ? 0 : station.getDownlinkRate()));
+            if (Math.max(release, TransmissionModel.toMinutes(window.getStart())) + duration
+                    <= TransmissionModel.toMinutes(window.getEnd())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Événements triés par date, les fins avant les débuts à date égale (intervalles [début, fin))
+    private static List<int[]> events(List<ScheduledTransmission> transmissions) {
+        List<int[]> events = new ArrayList<>();
+        for (int i = 0; i < transmissions.size(); i++) {
+            events.add(new int[]{transmissions.get(i).getStart(), 1, i});
+            events.add(new int[]{transmissions.get(i).getEnd(), -1, i});
+        }
+        events.sort(Comparator.<int[]>comparingInt(e -> e[0]).thenComparingInt(e -> e[1]));
+        return events;
+    }
+
+    private static void checkCapacity(String resource, List<ScheduledTransmission> transmissions, int capacity,
+                                      List<String> violations) {
+        int load = 0;
+        for (int[] event : events(transmissions)) {
+            load += event[1];
+            if (event[1] > 0 && load > capacity) {
+                violations.add(resource + " : " + load + " transmissions simultanées à " + event[0] +
+                        " pour une capacité de " + capacity);
+            }
+        }
+    }
+
+    // Un satellite n'est relié qu'à une antenne à la fois : les transmissions actives en même temps
+    // utilisent toutes la même fenêtre
+    private static void checkSingleWindow(Satellite satellite, List<ScheduledTransmission> transmissions,
+                                          List<String> violations) {
+        Map<Integer, Integer> activePerWindow = new HashMap<>();
+        for (int[] event : events(transmissions)) {
+            ScheduledTransmission transmission = transmissions.get(event[2]);
+            int window = transmission.getDay() * satellite.getTransmissionWindows().length + transmission.getWindowIndex();
+            int active = activePerWindow.merge(window, event[1], Integer::sum);
+            if (active == 0) {
+                activePerWindow.remove(window);
+            }
+            if (event[1] > 0 && activePerWindow.size() > 1) {
+                violations.add("satellite " + satellite.getId() + " : plusieurs fenêtres actives à " + event[0] +
+                        " " + activePerWindow.keySet());
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package main;
+
+// Affectation d'un fichier dans un planning : fenêtre (et donc station) choisie, début et fin en minutes.
+// Les fenêtres se répétant toutes les 24h, "day" indique la répétition utilisée (0 pour la fenêtre
+// telle que décrite dans l'instance).
+public class ScheduledTransmission {
+    private final String fileId;
+    private final String satelliteId;
+    private final int windowIndex;
+    private final String stationId;
+    private final int start;
+    private final int end;
+    private final int day;
+
+    public ScheduledTransmission(String fileId, String satelliteId, int windowIndex, String stationId, int start, int end) {
+        this(fileId, satelliteId, windowIndex, 0, stationId, start, end);
+    }
+
+    public ScheduledTransmission(String fileId, String satelliteId, int windowIndex, int day, String stationId, int start, int end) {
+        this.fileId = fileId;
+        this.satelliteId = satelliteId;
+        this.windowIndex = windowIndex;
+        this.stationId = stationId;
+        this.start = start;
+        this.end = end;
+        this.day = day;
+    }
+
+    public String getFileId() {
+        return this.fileId;
+    }
+
+    public String getSatelliteId() {
+        return this.satelliteId;
+    }
+
+    public int getWindowIndex() {
+        return this.windowIndex;
+    }
+
+    public int getDay() {
+        return this.day;
+    }
+
+    public String getStationId() {
+        return this.stationId;
+    }
+
+    public int getStart() {
+        return this.start;
+    }
+
+    public int getEnd() {
+        return this.end;
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduledTransmission[" +
+                "fileId: " + this.fileId + ", " +
+                "satelliteId: " + this.satelliteId + ", " +
+                "windowIndex: " + this.windowIndex + ", " +
+                "day: " + this.day + ", " +
+                "stationId: " + this.stationId + ", " +
+                "start: " + this.start + ", " +
+                "end: " + this.end +
+                "]";
+    }
+}
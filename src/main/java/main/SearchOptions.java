@@ -0,0 +1,215 @@
+package main;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.search.limits.FailCounter;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.search.strategy.selectors.values.IntValueSelector;
+import org.chocosolver.solver.search.strategy.selectors.variables.DomOverWDeg;
+import org.chocosolver.solver.search.strategy.selectors.variables.InputOrder;
+import org.chocosolver.solver.search.strategy.selectors.variables.Smallest;
+import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
+import org.chocosolver.solver.variables.IntVar;
+
+import java.util.*;
+
+// Paramètres de la recherche : stratégie de branchement, redémarrages, dernier conflit et
+// enregistrement des nogoods. Seules les fenêtres et les débuts sont des variables de décision, précédés
+// pour l'objectif volume de la transmission de chaque fichier (les plus gros d'abord, transmis de
+// préférence) ; les variables auxiliaires (booléens réifiés, tâches...) sont complétées par la
+// stratégie par défaut.
+public class SearchOptions {
+    private SearchStrategy strategy = SearchStrategy.DEFAULT;
+    // none, luby ou geometric
+    private String restarts = "none";
+    private boolean lastConflict;
+    private boolean nogoods;
+
+    public SearchStrategy getStrategy() {
+        return this.strategy;
+    }
+
+    public SearchOptions setStrategy(SearchStrategy strategy) {
+        this.strategy = strategy;
+        return this;
+    }
+
+    public String getRestarts() {
+        return this.restarts;
+    }
+
+    public SearchOptions setRestarts(String restarts) {
+        if (!restarts.equals("none") && !restarts.equals("luby") && !restarts.equals("geometric")) {
+            throw new IllegalArgumentException("Politique de redémarrage inconnue : " + restarts);
+        }
+        this.restarts = restarts;
+        return this;
+    }
+
+    public boolean isLastConflict() {
+        return this.lastConflict;
+    }
+
+    public SearchOptions setLastConflict(boolean lastConflict) {
+        this.lastConflict = lastConflict;
+        return this;
+    }
+
+    public boolean isNogoods() {
+        return this.nogoods;
+    }
+
+    public SearchOptions setNogoods(boolean nogoods) {
+        this.nogoods = nogoods;
+        return this;
+    }
+
+    // Configure le solveur du modèle ; hints donne les valeurs à essayer en premier (planning de
+    // démarrage à chaud), éventuellement vide
+    public void apply(TransmissionModel transmissionModel, Map<IntVar, Integer> hints) {
+        Model model = transmissionModel.getModel();
+        Solver solver = model.getSolver();
+        IntVar[] windows = orderedWindows(transmissionModel);
+        IntVar[] starts = transmissionModel.getStartArray();
+        IntValueSelector values = new HintValueSelector(hints);
+        AbstractStrategy<?> search = switch (this.strategy) {
+            case DEFAULT -> {
+                if (hints.isEmpty()) {
+                    yield this.lastConflict ? Search.defaultSearch(model) : null;
+                }
+                // Fenêtre et début de chaque fichier, dans l'ordre de getFileIds()
+                IntVar[] vars = new IntVar[2 * windows.length];
+                for (int i = 0; i < windows.length; i++) {
+                    vars[2 * i] = windows[i];
+                    vars[2 * i + 1] = starts[i];
+                }
+                yield Search.lastConflict(Search.intVarSearch(new DomOverWDeg(vars, 0), values, vars));
+            }
+            case LOAD, DEPTH -> Search.sequencer(
+                    Search.intVarSearch(new InputOrder<>(model), values, windows),
+                    Search.intVarSearch(new Smallest(), values, starts));
+            case DOM_WDEG -> Search.sequencer(
+                    Search.intVarSearch(new DomOverWDeg(windows, 0), values, windows),
+                    Search.intVarSearch(new Smallest(), values, starts));
+            case ACTIVITY -> {
+                IntVar[] vars = Arrays.copyOf(windows, windows.length + starts.length);
+                System.arraycopy(starts, 0, vars, windows.length, starts.length);
+                yield Search.activityBasedSearch(vars);
+            }
+        };
+        AbstractStrategy<IntVar> sentSearch = sentSearch(transmissionModel, hints);
+        if (sentSearch != null) {
+            search = Search.sequencer(sentSearch, search != null ? search : Search.defaultSearch(model));
+        }
+        if (search != null) {
+            // La stratégie par défaut avec démarrage à chaud comprend déjà le dernier conflit
+            boolean wrapped = this.strategy == SearchStrategy.DEFAULT && !hints.isEmpty();
+            solver.setSearch(this.lastConflict && !wrapped ? Search.lastConflict(search) : search);
+            solver.makeCompleteStrategy(true);
+        }
+        switch (this.restarts) {
+            case "luby" -> solver.setLubyRestart(100, new FailCounter(model, 1), 1000);
+            case "geometric" -> solver.setGeometricalRestart(100, 1.5, new FailCounter(model, 1), 1000);
+        }
+        if (this.nogoods) {
+            if (this.restarts.equals("none")) {
+                System.err.println("Les nogoods sont enregistrés aux redémarrages : --restarts=luby ou geometric est nécessaire");
+            }
+            solver.setNoGoodRecordingFromRestarts();
+        }
+    }
+
+    // Branchement sur la transmission des fichiers traités, par taille décroissante, sur la valeur du
+    // planning de référence ou à défaut sur la transmission ; null hors objectif volume
+    static AbstractStrategy<IntVar> sentSearch(TransmissionModel transmissionModel, Map<IntVar, Integer> hints) {
+        if (!transmissionModel.isMaximizing() || transmissionModel.getModelledFiles().length == 0) {
+            return null;
+        }
+        int[] size = transmissionModel.getCompiled().getSize();
+        IntVar[] sent = Arrays.stream(transmissionModel.getModelledFiles()).boxed()
+                .sorted(Comparator.comparingInt(f -> -size[f]))
+                .map(transmissionModel::getSentVar).toArray(IntVar[]::new);
+        IntValueSelector values = var -> {
+            Integer hint = hints.get(var);
+            return hint != null && var.contains(hint) ? hint : var.getUB();
+        };
+        return Search.intVarSearch(new InputOrder<>(transmissionModel.getModel()), values, sent);
+    }
+
+    // Variables de fenêtre des fichiers traités, dans l'ordre de branchement de la stratégie
+    private IntVar[] orderedWindows(TransmissionModel transmissionModel) {
+        CompiledInstance compiled = transmissionModel.getCompiled();
+        int[] files = transmissionModel.getModelledFiles();
+        int[] key = new int[compiled.getNbFiles()];
+        Comparator<Integer> order = Comparator.comparingInt(f -> compiled.getRelease()[f]);
+        if (this.strategy == SearchStrategy.LOAD) {
+            // Charge du satellite : durée à transmettre rapportée à la durée de ses fenêtres (en millièmes)
+            int[] satFileOffset = compiled.getSatelliteFileOffset();
+            int[] satWindowOffset = compiled.getSatelliteWindowOffset();
+            for (int k = 0; k < compiled.getNbSatellites(); k++) {
+                long demand = 0;
+                long supply = 0;
+                for (int f = satFileOffset[k]; f < satFileOffset[k + 1]; f++) {
+                    if (transmissionModel.getStartVar(f) != null) {
+                        demand += compiled.getDuration()[f];
+                    }
+                }
+                for (int g = satWindowOffset[k]; g < satWindowOffset[k + 1]; g++) {
+                    supply += compiled.getWindowEnd()[g] - compiled.getWindowStart()[g];
+                }
+                int load = (int) (1000 * demand / Math.max(1, supply));
+                for (int f = satFileOffset[k]; f < satFileOffset[k + 1]; f++) {
+                    key[f] = -load;
+                }
+            }
+            order = Comparator.<Integer>comparingInt(f -> key[f]).thenComparing(order);
+        } else if (this.strategy == SearchStrategy.DEPTH) {
+            // Profondeur : longueur de la plus longue chaîne de prédécesseurs traités
+            int[] predOffset = compiled.getPredecessorOffset();
+            int[] preds = compiled.getPredecessors();
+            boolean changed = true;
+            for (int round = 0; changed && round < files.length; round++) {
+                changed = false;
+                for (int f : files) {
+                    for (int i = predOffset[f]; i < predOffset[f + 1]; i++) {
+                        if (transmissionModel.getStartVar(preds[i]) != null && key[preds[i]] + 1 > key[f]) {
+                            key[f] = key[preds[i]] + 1;
+                            changed = true;
+                        }
+                    }
+                }
+            }
+            order = Comparator.<Integer>comparingInt(f -> key[f]).thenComparing(order);
+        }
+        if (this.strategy == SearchStrategy.LOAD || this.strategy == SearchStrategy.DEPTH) {
+            return Arrays.stream(files).boxed().sorted(order)
+                    .map(transmissionModel::getWindowChoiceVar).toArray(IntVar[]::new);
+        }
+        return transmissionModel.getWindowChoiceArray();
+    }
+
+    @Override
+    public String toString() {
+        return "SearchOptions[" +
+                "strategy: " + this.strategy.getName() + ", " +
+                "restarts: " + this.restarts + ", " +
+                "lastConflict: " + this.lastConflict + ", " +
+                "nogoods: " + this.nogoods +
+                "]";
+    }
+
+    // Choisit la valeur du planning de référence si elle est encore dans le domaine, la borne inférieure sinon
+    static class HintValueSelector implements IntValueSelector {
+        private final Map<IntVar, Integer> hints;
+
+        HintValueSelector(Map<IntVar, Integer> hints) {
+            this.hints = hints;
+        }
+
+        @Override
+        public int selectValue(IntVar var) {
+            Integer hint = this.hints.get(var);
+            return hint != null && var.contains(hint) ? hint : var.getLB();
+        }
+    }
+}
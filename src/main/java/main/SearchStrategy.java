@@ -0,0 +1,37 @@
+package main;
+
+// Stratégies de recherche du modèle Choco, choisies par --search.
+public enum SearchStrategy {
+    // Stratégie par défaut de Choco ; avec un démarrage à chaud, dom/wdeg sur les fenêtres et les
+    // débuts, les valeurs du planning glouton étant essayées en premier
+    DEFAULT("default"),
+    // Fenêtres d'abord, satellites les plus chargés (durée à transmettre / durée de leurs fenêtres)
+    // en premier, puis débuts par plus petite valeur
+    LOAD("load"),
+    // Fenêtres d'abord, par profondeur croissante dans le graphe des prédécesseurs, puis débuts par
+    // plus petite valeur
+    DEPTH("depth"),
+    // Fenêtres d'abord par dom/wdeg, puis débuts par plus petite valeur
+    DOM_WDEG("domwdeg"),
+    // Recherche par activités sur les fenêtres et les débuts
+    ACTIVITY("activity");
+
+    private final String name;
+
+    SearchStrategy(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public static SearchStrategy fromName(String name) {
+        for (SearchStrategy strategy : values()) {
+            if (strategy.name.equalsIgnoreCase(name)) {
+                return strategy;
+            }
+        }
+        throw new IllegalArgumentException("Stratégie de recherche inconnue : " + name);
+    }
+}
@@ -0,0 +1,268 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Simplexe en deux phases sur tableau dense, pour des programmes linéaires de taille modeste :
+// minimiser c.x sous des contraintes linéaires (<=, >= ou =), avec x >= 0.
+// La phase 1 minimise la somme des variables artificielles des lignes >= et = ; la phase 2 repart
+// de la base obtenue. La variable entrante est celle de coût réduit le plus négatif (Dantzig),
+// avec la règle de Bland après une suite de pivots dégénérés pour éviter le cyclage.
+public class Simplex {
+    public enum Status {
+        OPTIMAL, INFEASIBLE, UNBOUNDED, TIME_LIMIT
+    }
+
+    private static final double EPSILON = 1e-9;
+    private static final int DEGENERATE_PIVOTS_BEFORE_BLAND = 50;
+
+    private final int nbColumns;
+    private final double[] objective;
+    private final List<Row> rows = new ArrayList<>();
+
+    private double[] solution;
+    private int[] nonZeros;
+    private double objectiveValue;
+    private int pivots;
+
+    private static class Row {
+        final int[] columns;
+        final double[] coefficients;
+        final char sense;
+        final double rhs;
+
+        Row(int[] columns, double[] coefficients, char sense, double rhs) {
+            this.columns = columns;
+            this.coefficients = coefficients;
+            this.sense = sense;
+            this.rhs = rhs;
+        }
+    }
+
+    public Simplex(int nbColumns) {
+        this.nbColumns = nbColumns;
+        this.objective = new double[nbColumns];
+    }
+
+    public void setObjective(int column, double cost) {
+        this.objective[column] = cost;
+    }
+
+    // sense : '<' pour <=, '>' pour >=, '=' pour une égalité
+    public void addRow(int[] columns, double[] coefficients, char sense, double rhs) {
+        if (sense != '<' && sense != '>' && sense != '=') {
+            throw new IllegalArgumentException("Sens de contrainte inconnu : " + sense);
+        }
+        this.rows.add(new Row(columns, coefficients, sense, rhs));
+    }
+
+    public int getNbRows() {
+        return this.rows.size();
+    }
+
+    public int getNbColumns() {
+        return this.nbColumns;
+    }
+
+    // Nombre de cases du tableau dense (une variable d'écart ou artificielle au plus deux par ligne)
+    public long getTableauSize() {
+        long width = this.nbColumns + 1;
+        for (Row row : this.rows) {
+            width += row.sense == '=' ? 1 : row.sense == '<' && row.rhs >= 0 ? 1 : 2;
+        }
+        return (this.rows.size() + 1) * width;
+    }
+
+    public Status solve(long deadlineMillis) {
+        int m = this.rows.size();
+        // Lignes à second membre positif : une ligne de second membre négatif change de sens
+        char[] senses = new char[m];
+        int nbSlacks = 0;
+        int nbArtificials = 0;
+        for (int i = 0; i < m; i++) {
+            Row row = this.rows.get(i);
+            char sense = row.sense;
+            if (row.rhs < 0 && sense != '=') {
+                sense = sense == '<' ? '>' : '<';
+            }
+            senses[i] = sense;
+            if (sense != '=') {
+                nbSlacks++;
+            }
+            if (sense != '<') {
+                nbArtificials++;
+            }
+        }
+        int firstSlack = this.nbColumns;
+        int firstArtificial = firstSlack + nbSlacks;
+        int width = firstArtificial + nbArtificials;
+
+        // Tableau : m lignes de contraintes, puis la ligne des coûts réduits ; dernière colonne = second membre
+        double[][] tableau = new double[m + 1][width + 1];
+        this.nonZeros = new int[width + 1];
+        int[] basis = new int[m];
+        int slack = firstSlack;
+        int artificial = firstArtificial;
+        for (int i = 0; i < m; i++) {
+            Row row = this.rows.get(i);
+            double sign = row.rhs < 0 ? -1 : 1;
+            for (int j = 0; j < row.columns.length; j++) {
+                tableau[i][row.columns[j]] += sign * row.coefficients[j];
+            }
+            tableau[i][width] = sign * row.rhs;
+            if (senses[i] == '<') {
+                tableau[i][slack] = 1;
+                basis[i] = slack++;
+            } else {
+                if (senses[i] == '>') {
+                    tableau[i][slack++] = -1;
+                }
+                tableau[i][artificial] = 1;
+                basis[i] = artificial++;
+            }
+        }
+
+        // Phase 1 : minimiser la somme des artificielles, exprimée sur les variables hors base
+        double[] costs = tableau[m];
+        for (int i = 0; i < m; i++) {
+            if (basis[i] >= firstArtificial) {
+                for (int j = 0; j <= width; j++) {
+                    costs[j] -= tableau[i][j];
+                }
+            }
+        }
+        for (int j = firstArtificial; j < width; j++) {
+            costs[j] = 0;
+        }
+        Status status = iterate(tableau, basis, width, width, deadlineMillis);
+        if (status != Status.OPTIMAL) {
+            return status;
+        }
+        if (-costs[width] > 1e-6) {
+            return Status.INFEASIBLE;
+        }
+        // Artificielles restées en base à zéro : on les remplace par une variable de la ligne si possible
+        for (int i = 0; i < m; i++) {
+            if (basis[i] < firstArtificial)
+                continue;
+            for (int j = 0; j < firstArtificial; j++) {
+                if (Math.abs(tableau[i][j]) > EPSILON) {
+                    pivot(tableau, basis, i, j, width);
+                    break;
+                }
+            }
+        }
+
+        // Phase 2 : coûts réduits du programme d'origine, les artificielles n'entrent plus en base
+        Arrays.fill(costs, 0);
+        System.arraycopy(this.objective, 0, costs, 0, this.nbColumns);
+        for (int i = 0; i < m; i++) {
+            double cost = basis[i] < this.nbColumns ? this.objective[basis[i]] : 0;
+            if (cost != 0) {
+                for (int j = 0; j <= width; j++) {
+                    costs[j] -= cost * tableau[i][j];
+                }
+            }
+        }
+        status = iterate(tableau, basis, width, firstArtificial, deadlineMillis);
+        if (status != Status.OPTIMAL) {
+            return status;
+        }
+        this.solution = new double[this.nbColumns];
+        for (int i = 0; i < m; i++) {
+            if (basis[i] < this.nbColumns) {
+                this.solution[basis[i]] = tableau[i][width];
+            }
+        }
+        this.objectiveValue = -costs[width];
+        return Status.OPTIMAL;
+    }
+
+    // Pivots jusqu'à l'optimalité ; seules les colonnes d'indice < enterable peuvent entrer en base
+    private Status iterate(double[][] tableau, int[] basis, int width, int enterable, long deadlineMillis) {
+        int m = basis.length;
+        double[] costs = tableau[m];
+        int degenerate = 0;
+        while (true) {
+            if ((this.pivots & 63) == 0 && System.currentTimeMillis() > deadlineMillis) {
+                return Status.TIME_LIMIT;
+            }
+            boolean bland = degenerate >= DEGENERATE_PIVOTS_BEFORE_BLAND;
+            int entering = -1;
+            double best = -EPSILON;
+            for (int j = 0; j < enterable; j++) {
+                if (costs[j] < best) {
+                    entering = j;
+                    best = costs[j];
+                    if (bland)
+                        break;
+                }
+            }
+            if (entering < 0) {
+                return Status.OPTIMAL;
+            }
+            int leaving = -1;
+            double ratio = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < m; i++) {
+                double a = tableau[i][entering];
+                if (a > EPSILON) {
+                    double r = tableau[i][width] / a;
+                    if (r < ratio - EPSILON || (r < ratio + EPSILON && leaving >= 0 && basis[i] < basis[leaving])) {
+                        ratio = r;
+                        leaving = i;
+                    }
+                }
+            }
+            if (leaving < 0) {
+                return Status.UNBOUNDED;
+            }
+            degenerate = ratio < EPSILON ? degenerate + 1 : 0;
+            pivot(tableau, basis, leaving, entering, width);
+        }
+    }
+
+    private void pivot(double[][] tableau, int[] basis, int row, int column, int width) {
+        this.pivots++;
+        double[] pivotRow = tableau[row];
+        double inverse = 1 / pivotRow[column];
+        for (int j = 0; j <= width; j++) {
+            pivotRow[j] *= inverse;
+        }
+        pivotRow[column] = 1;
+        // Le tableau reste creux : seules les colonnes non nulles de la ligne pivot sont mises à jour
+        int count = 0;
+        for (int j = 0; j <= width; j++) {
+            if (pivotRow[j] != 0) {
+                this.nonZeros[count++] = j;
+            }
+        }
+        for (int i = 0; i < tableau.length; i++) {
+            if (i == row)
+                continue;
+            double[] current = tableau[i];
+            double factor = current[column];
+            if (Math.abs(factor) <= EPSILON)
+                continue;
+            for (int k = 0; k < count; k++) {
+                int j = this.nonZeros[k];
+                current[j] -= factor * pivotRow[j];
+            }
+            current[column] = 0;
+        }
+        basis[row] = column;
+    }
+
+    // Valeurs des variables de la solution optimale
+    public double[] getSolution() {
+        return this.solution;
+    }
+
+    public double getObjectiveValue() {
+        return this.objectiveValue;
+    }
+
+    public int getPivots() {
+        return this.pivots;
+    }
+}
@@ -0,0 +1,322 @@
+package main;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Stream;
+
+// Magasin local de plannings, pour les variantes proches d'une même instance (station en panne,
+// fichiers ajoutés, fenêtres décalées). Chaque planning est conservé dans un fichier binaire
+// "<empreinte>.sol" du dossier, avec les empreintes de chaque fichier (identifiant, satellite, taille,
+// disponibilité, prédécesseurs) et de chaque fenêtre (satellite, station, dates, canaux).
+// La recherche reprend le planning de même empreinte d'instance s'il existe, sinon celui qui partage
+// le plus d'empreintes de fichiers et de fenêtres. Ses transmissions sont rattachées aux fenêtres de
+// la nouvelle instance (même satellite, même station, contenant la transmission) ; la réparation est
+// laissée à GreedyScheduler.repair. Le dossier est borné en taille : les plannings les moins
+// récemment utilisés (date de modification, mise à jour à chaque lecture) sont supprimés en premier.
+// Les plannings sont lus en flux et non projetés en mémoire : sous Windows, un fichier projeté reste
+// verrouillé jusqu'au passage du ramasse-miettes, ce qui empêcherait de le remplacer ou de le supprimer.
+public class SolutionStore {
+    private static final int STORE_MAGIC = 0x54525353;
+    // Version 2 : débits dans les empreintes des fichiers et des fenêtres
+    private static final int STORE_VERSION = 2;
+    private static final String EXTENSION = ".sol";
+    // FNV-1a sur 64 bits
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Path directory;
+    private final long maxBytes;
+
+    public SolutionStore(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    public Path getDirectory() {
+        return this.directory;
+    }
+
+    public long getMaxBytes() {
+        return this.maxBytes;
+    }
+
+    // Planning le plus proche, exprimé dans les indices de fenêtre de compiled, ou null si aucun
+    // planning conservé ne partage de fichier ou de fenêtre avec l'instance
+    public Schedule lookup(CompiledInstance compiled) {
+        if (!Files.isDirectory(this.directory)) {
+            return null;
+        }
+        long[] fileHashes = sorted(fileHashes(compiled));
+        long[] windowHashes = sorted(windowHashes(compiled));
+        Path best = this.directory.resolve(fingerprint(fileHashes, windowHashes) + EXTENSION);
+        if (!Files.exists(best)) {
+            best = null;
+            long bestScore = 0;
+            try (Stream<Path> entries = Files.list(this.directory)) {
+                for (Path entry : (Iterable<Path>) entries.filter(path -> path.toString().endsWith(EXTENSION))::iterator) {
+                    long score = similarity(entry, fileHashes, windowHashes);
+                    if (score > bestScore) {
+                        best = entry;
+                        bestScore = score;
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Magasin de plannings illisible : " + e.getMessage());
+                return null;
+            }
+            if (best == null) {
+                return null;
+            }
+        }
+        Schedule schedule = read(best, compiled);
+        if (schedule != null) {
+            try {
+                Files.setLastModifiedTime(best, FileTime.fromMillis(System.currentTimeMillis()));
+            } catch (IOException e) {
+                System.err.println("Impossible de mettre à jour " + best + " : " + e.getMessage());
+            }
+            System.out.println("Planning repris du magasin : " + best.getFileName() + " ("
+                    + schedule.getTransmissions().size() + " transmission(s) rattachée(s))");
+        }
+        return schedule;
+    }
+
+    // Conserve le planning de l'instance, puis supprime les plus anciens au-delà de la taille maximale.
+    // Écriture dans un fichier temporaire puis renommage, comme le cache d'instance
+    public void save(CompiledInstance compiled, Schedule schedule) {
+        long[] fileHashes = sorted(fileHashes(compiled));
+        long[] windowHashes = sorted(windowHashes(compiled));
+        Path entry = this.directory.resolve(fingerprint(fileHashes, windowHashes) + EXTENSION);
+        try {
+            Files.createDirectories(this.directory);
+            Path tmp = Files.createTempFile(this.directory, entry.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(STORE_MAGIC);
+                out.writeInt(STORE_VERSION);
+                InstanceLoader.writeString(out, compiled.getId());
+                writeLongs(out, fileHashes);
+                writeLongs(out, windowHashes);
+                out.writeInt(schedule.getTransmissions().size());
+                for (ScheduledTransmission transmission : schedule.getTransmissions()) {
+                    InstanceLoader.writeString(out, transmission.getFileId());
+                    InstanceLoader.writeString(out, transmission.getSatelliteId());
+                    InstanceLoader.writeString(out, transmission.getStationId());
+                    out.writeInt(transmission.getStart());
+                }
+            }
+            Files.move(tmp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            evict(entry);
+        } catch (IOException e) {
+            System.err.println("Impossible d'enregistrer le planning dans " + entry + " : " + e.getMessage());
+        }
+    }
+
+    // Suppression des plannings les moins récemment utilisés tant que le dossier dépasse maxBytes ;
+    // le planning qui vient d'être écrit est toujours conservé
+    private void evict(Path keep) throws IOException {
+        List<Path> entries;
+        try (Stream<Path> stream = Files.list(this.directory)) {
+            entries = new ArrayList<>(stream.filter(path -> path.toString().endsWith(EXTENSION)).toList());
+        }
+        Map<Path, long[]> attributes = new HashMap<>();
+        long total = 0;
+        for (Path entry : entries) {
+            try {
+                long size = Files.size(entry);
+                attributes.put(entry, new long[]{Files.getLastModifiedTime(entry).toMillis(), size});
+                total += size;
+            } catch (NoSuchFileException e) {
+                // Supprimé entre-temps par une autre résolution
+            }
+        }
+        entries.removeIf(entry -> !attributes.containsKey(entry));
+        entries.sort(Comparator.comparingLong(entry -> attributes.get(entry)[0]));
+        for (Path entry : entries) {
+            if (total <= this.maxBytes)
+                break;
+            if (entry.equals(keep))
+                continue;
+            Files.deleteIfExists(entry);
+            total -= attributes.get(entry)[1];
+        }
+    }
+
+    // Nombre d'empreintes de fichiers et de fenêtres communes, lues sans charger les transmissions
+    private static long similarity(Path entry, long[] fileHashes, long[] windowHashes) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+            if (in.readInt() != STORE_MAGIC || in.readInt() != STORE_VERSION) {
+                return 0;
+            }
+            InstanceLoader.readString(in);
+            return countCommon(in, fileHashes) + countCommon(in, windowHashes);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Planning illisible dans le magasin : " + entry);
+            return 0;
+        }
+    }
+
+    // Lit un tableau trié d'empreintes et compte celles présentes dans hashes (trié aussi)
+    private static long countCommon(DataInputStream in, long[] hashes) throws IOException {
+        int length = in.readInt();
+        long common = 0;
+        int j = 0;
+        for (int i = 0; i < length; i++) {
+            long value = in.readLong();
+            while (j < hashes.length && hashes[j] < value) {
+                j++;
+            }
+            if (j < hashes.length && hashes[j] == value) {
+                common++;
+                j++;
+            }
+        }
+        return common;
+    }
+
+    // Transmissions du planning conservé rattachées aux fichiers et aux fenêtres de compiled ; celles
+    // d'un fichier disparu ou sans fenêtre de même station qui les contienne sont ignorées
+    private static Schedule read(Path entry, CompiledInstance compiled) {
+        int[] satWindowOffset = compiled.getSatelliteWindowOffset();
+        int[] windowStart = compiled.getWindowStart();
+        int[] windowEnd = compiled.getWindowEnd();
+        int[] windowStation = compiled.getWindowStation();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+            if (in.readInt() != STORE_MAGIC || in.readInt() != STORE_VERSION) {
+                return null;
+            }
+            InstanceLoader.readString(in);
+            for (int pass = 0; pass < 2; pass++) {
+                int length = in.readInt();
+                in.skipNBytes((long) Long.BYTES * length);
+            }
+            Schedule schedule = new Schedule();
+            int nbTransmissions = in.readInt();
+            for (int i = 0; i < nbTransmissions; i++) {
+                String fileId = InstanceLoader.readString(in);
+                String satelliteId = InstanceLoader.readString(in);
+                String stationId = InstanceLoader.readString(in);
+                int start = in.readInt();
+                int f = compiled.indexOfFile(fileId);
+                if (f < 0 || !compiled.getSatelliteId(compiled.getFileSatellite()[f]).equals(satelliteId))
+                    continue;
+                int k = compiled.getFileSatellite()[f];
+                for (int g = satWindowOffset[k]; g < satWindowOffset[k + 1]; g++) {
+                    int end = start + compiled.getDuration(f, g);
+                    if (compiled.getStationId(windowStation[g]).equals(stationId) && windowStart[g] <= start && end <= windowEnd[g]) {
+                        schedule.add(new ScheduledTransmission(fileId, satelliteId, g - satWindowOffset[k], stationId, start, end));
+                        break;
+                    }
+                }
+            }
+            return schedule;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Planning illisible dans le magasin : " + entry);
+            return null;
+        }
+    }
+
+    // Empreinte d'un fichier : identifiant, satellite et son débit, taille, disponibilité et prédécesseurs
+    static long[] fileHashes(CompiledInstance compiled) {
+        int[] predOffset = compiled.getPredecessorOffset();
+        int[] preds = compiled.getPredecessors();
+        long[] hashes = new long[compiled.getNbFiles()];
+        for (int f = 0; f < hashes.length; f++) {
+            long hash = hash(FNV_OFFSET, compiled.getFileId(f));
+            hash = hash(hash, compiled.getSatelliteId(compiled.getFileSatellite()[f]));
+            hash = hash(hash, compiled.getSatelliteRate()[compiled.getFileSatellite()[f]]);
+            hash = hash(hash, compiled.getSize()[f]);
+            hash = hash(hash, compiled.getRelease()[f]);
+            String[] predIds = new String[predOffset[f + 1] - predOffset[f]];
+            for (int i = 0; i < predIds.length; i++) {
+                predIds[i] = compiled.getFileId(preds[predOffset[f] + i]);
+            }
+            Arrays.sort(predIds);
+            for (String predId : predIds) {
+                hash = hash(hash, predId);
+            }
+            hashes[f] = hash;
+        }
+        return hashes;
+    }
+
+    // Empreinte d'une fenêtre : satellite et ses canaux, station et ses canaux, dates, débit de transmission
+    static long[] windowHashes(CompiledInstance compiled) {
+        long[] hashes = new long[compiled.getNbWindows()];
+        int[] satWindowOffset = compiled.getSatelliteWindowOffset();
+        for (int k = 0; k < compiled.getNbSatellites(); k++) {
+            for (int g = satWindowOffset[k]; g < satWindowOffset[k + 1]; g++) {
+                int s = compiled.getWindowStation()[g];
+                long hash = hash(FNV_OFFSET, compiled.getSatelliteId(k));
+                hash = hash(hash, compiled.getSatelliteChannels()[k]);
+                hash = hash(hash, compiled.getStationId(s));
+                hash = hash(hash, compiled.getStationChannels()[s]);
+                hash = hash(hash, compiled.getWindowStart()[g]);
+                hash = hash(hash, compiled.getWindowEnd()[g]);
+                hashes[g] = hash(hash, compiled.getWindowRate()[g]);
+            }
+        }
+        return hashes;
+    }
+
+    // Empreinte de l'instance : SHA-256 des empreintes triées des fichiers et des fenêtres, qui ne
+    // dépend donc pas de l'ordre de déclaration
+    private static String fingerprint(long[] sortedFileHashes, long[] sortedWindowHashes) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * (2 + sortedFileHashes.length + sortedWindowHashes.length));
+            buffer.putLong(sortedFileHashes.length).putLong(sortedWindowHashes.length);
+            for (long hash : sortedFileHashes) {
+                buffer.putLong(hash);
+            }
+            for (long hash : sortedWindowHashes) {
+                buffer.putLong(hash);
+            }
+            byte[] bytes = digest.digest(buffer.array());
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 16; i++) {
+                hex.append(String.format("%02x", bytes[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long hash(long hash, String value) {
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+        }
+        // Séparateur, pour que ("ab", "c") et ("a", "bc") diffèrent
+        return (hash ^ 0xff) * FNV_PRIME;
+    }
+
+    private static long hash(long hash, int value) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            hash = (hash ^ ((value >>> shift) & 0xff)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long hash(long hash, double value) {
+        long bits = Double.doubleToLongBits(value);
+        return hash(hash(hash, (int) bits), (int) (bits >>> 32));
+    }
+
+    private static long[] sorted(long[] values) {
+        Arrays.sort(values);
+        return values;
+    }
+
+    private static void writeLongs(DataOutputStream out, long[] values) throws IOException {
+        out.writeInt(values.length);
+        for (long value : values) {
+            out.writeLong(value);
+        }
+    }
+}
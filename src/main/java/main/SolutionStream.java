@@ -0,0 +1,205 @@
+package main;
+
+import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
+import org.chocosolver.solver.variables.IntVar;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+// Export au fil de l'eau des plannings améliorants, une ligne JSON par planning :
+// {"instance", "solver", "elapsed_ms", "makespan", "scheduled", "volume", "transmissions": [{"file", "satellite",
+// "window", "station", "start", "end"[, "day"]}, ...]}, "day" n'apparaissant que pour une répétition
+// des fenêtres (--multi-day). Chaque ligne est écrite d'un seul tenant dans un
+// FileChannel dès que la solution est trouvée : elle survit à l'arrêt du processus (limite de temps,
+// interruption), et un système aval peut relire la dernière ligne de l'instance pendant que la recherche
+// continue. Seuls les plannings qui améliorent le meilleur planning déjà écrit pour la même instance
+// (volume téléchargé plus grand, ou makespan plus court à volume égal) sont exportés, ce qui couvre
+// aussi les copies du portefeuille. Les solveurs englobants (--multi-day, --decompose, --rolling)
+// résolvent des sous-instances d'identifiant distinct (<id>_jours<N>, <id>#<i>, <id>_bloc<i>), dont
+// les indices de fenêtre ne valent que pour elles ; le planning final de l'instance, rapporté à ses
+// propres fenêtres, est toujours écrit sous son identifiant. Sans configuration, attach() et publish()
+// ne font rien.
+public class SolutionStream implements IMonitorSolution {
+    private static FileChannel channel;
+    private static long startNanos;
+    // Meilleur planning écrit par instance : {volume, makespan}
+    private static final Map<String, long[]> best = new HashMap<>();
+
+    private final TransmissionModel transmissionModel;
+    private final String label;
+    // Fragments JSON précalculés : début de la transmission de chaque fichier traité (identifiants du
+    // fichier et du satellite) et station de chaque fenêtre globale
+    private final String[] filePrefix;
+    private final String[] windowStation;
+    // Volume de l'ensemble des fichiers traités (tous transmis hors objectif volume)
+    private final long modelledVolume;
+    private final StringBuilder line = new StringBuilder();
+
+    public static synchronized void configure(String jsonLinesPath) throws IOException {
+        if (jsonLinesPath != null) {
+            channel = FileChannel.open(Paths.get(jsonLinesPath), StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            startNanos = System.nanoTime();
+            best.clear();
+        }
+    }
+
+    public static synchronized void shutdown() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("Fermeture du flux de plannings impossible : " + e.getMessage());
+            }
+            channel = null;
+        }
+    }
+
+    // Branche l'export sur la recherche du modèle, si un fichier de sortie est configuré
+    public static void attach(TransmissionModel transmissionModel, String label) {
+        synchronized (SolutionStream.class) {
+            if (channel == null)
+                return;
+        }
+        transmissionModel.getModel().getSolver().plugMonitor(new SolutionStream(transmissionModel, label));
+    }
+
+    // Exporte un planning obtenu hors de la recherche (glouton, planning réparé, autre solveur), s'il
+    // améliore le meilleur planning écrit
+    public static void publish(CompiledInstance compiled, Schedule schedule, String label) {
+        publish(compiled, schedule, label, false);
+    }
+
+    // last : planning rendu par le solveur, écrit même s'il n'améliore pas la dernière ligne, pour que
+    // la dernière ligne de l'instance soit toujours dans ses indices de fenêtre
+    public static void publish(CompiledInstance compiled, Schedule schedule, String label, boolean last) {
+        synchronized (SolutionStream.class) {
+            if (channel == null)
+                return;
+        }
+        StringBuilder line = new StringBuilder();
+        long volume = schedule.getVolume(compiled);
+        header(line, compiled.getId(), label, schedule.getTransmissions().size(), schedule.getMakespan(), volume);
+        boolean first = true;
+        for (ScheduledTransmission transmission : schedule.getTransmissions()) {
+            line.append(first ? "" : ",").append("{\"file\":").append(quote(transmission.getFileId()))
+                    .append(",\"satellite\":").append(quote(transmission.getSatelliteId()))
+                    .append(",\"window\":").append(transmission.getWindowIndex())
+                    .append(",\"station\":").append(quote(transmission.getStationId()))
+                    .append(",\"start\":").append(transmission.getStart())
+                    .append(",\"end\":").append(transmission.getEnd());
+            if (transmission.getDay() > 0) {
+                line.append(",\"day\":").append(transmission.getDay());
+            }
+            line.append('}');
+            first = false;
+        }
+        write(line.append("]}\n"), compiled.getId(), volume, schedule.getMakespan(), last);
+    }
+
+    private SolutionStream(TransmissionModel transmissionModel, String label) {
+        this.transmissionModel = transmissionModel;
+        this.label = label;
+        CompiledInstance compiled = transmissionModel.getCompiled();
+        this.filePrefix = new String[compiled.getNbFiles()];
+        long modelledVolume = 0;
+        for (int f : transmissionModel.getModelledFiles()) {
+            modelledVolume += compiled.getSize()[f];
+            this.filePrefix[f] = "{\"file\":" + quote(compiled.getFileId(f)) + ",\"satellite\":"
+                    + quote(compiled.getSatelliteId(compiled.getFileSatellite()[f])) + ",\"window\":";
+        }
+        String[] stationNames = new String[compiled.getNbStations()];
+        for (int s = 0; s < stationNames.length; s++) {
+            stationNames[s] = ",\"station\":" + quote(compiled.getStationId(s)) + ",\"start\":";
+        }
+        this.windowStation = new String[compiled.getNbWindows()];
+        for (int g = 0; g < this.windowStation.length; g++) {
+            this.windowStation[g] = stationNames[compiled.getWindowStation()[g]];
+        }
+        this.modelledVolume = modelledVolume;
+    }
+
+    // Les variables sont instanciées sur la solution au moment de l'appel : le planning est lu
+    // directement, sans passer par un objet Solution ni un Schedule
+    @Override
+    public void onSolution() {
+        CompiledInstance compiled = this.transmissionModel.getCompiled();
+        int[] modelled = this.transmissionModel.getModelledFiles();
+        int makespan = this.transmissionModel.getMakespan().getValue();
+        int[] satWindowOffset = compiled.getSatelliteWindowOffset();
+        int[] fileSatellite = compiled.getFileSatellite();
+        IntVar volumeVar = this.transmissionModel.getVolume();
+        long volume = volumeVar == null ? this.modelledVolume : volumeVar.getValue();
+        int scheduled = modelled.length;
+        if (volumeVar != null) {
+            scheduled = 0;
+            for (int f : modelled) {
+                scheduled += this.transmissionModel.getSentVar(f).getValue();
+            }
+        }
+        this.line.setLength(0);
+        header(this.line, compiled.getId(), this.label, scheduled, makespan, volume);
+        boolean first = true;
+        for (int f : modelled) {
+            if (volumeVar != null && this.transmissionModel.getSentVar(f).getValue() == 0)
+                continue;
+            int window = this.transmissionModel.getWindowChoiceVar(f).getValue();
+            this.line.append(first ? "" : ",").append(this.filePrefix[f]).append(window)
+                    .append(this.windowStation[satWindowOffset[fileSatellite[f]] + window])
+                    .append(this.transmissionModel.getStartVar(f).getValue())
+                    .append(",\"end\":").append(this.transmissionModel.getEndVar(f).getValue()).append('}');
+            first = false;
+        }
+        write(this.line.append("]}\n"), compiled.getId(), volume, makespan, false);
+    }
+
+    private static boolean improves(String instanceId, long volume, int makespan, boolean last) {
+        long[] previous = best.get(instanceId);
+        if (!last && previous != null && (volume < previous[0] || (volume == previous[0] && makespan >= previous[1]))) {
+            return false;
+        }
+        best.put(instanceId, new long[]{volume, makespan});
+        return true;
+    }
+
+    private static void header(StringBuilder line, String instanceId, String label, int scheduled, int makespan, long volume) {
+        line.append("{\"instance\":").append(quote(instanceId))
+                .append(",\"solver\":").append(quote(label))
+                .append(",\"elapsed_ms\":").append((System.nanoTime() - startNanos) / 1_000_000)
+                .append(",\"makespan\":").append(makespan)
+                .append(",\"scheduled\":").append(scheduled)
+                .append(",\"volume\":").append(volume)
+                .append(",\"transmissions\":[");
+    }
+
+    // Comparaison au meilleur planning écrit et écriture sous le même verrou : les lignes de plusieurs
+    // copies du portefeuille ne s'entremêlent pas et les makespans écrits décroissent
+    private static void write(CharSequence line, String instanceId, long volume, int makespan, boolean last) {
+        ByteBuffer buffer = StandardCharsets.UTF_8.encode(CharBuffer.wrap(line));
+        synchronized (SolutionStream.class) {
+            if (channel == null || !improves(instanceId, volume, makespan, last))
+                return;
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                System.err.println("Écriture du flux de plannings impossible : " + e.getMessage());
+            }
+        }
+    }
+
+    private static String quote(String value) {
+        try {
+            return Utils.MAPPER.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
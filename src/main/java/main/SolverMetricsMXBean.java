@@ -0,0 +1,25 @@
+package main;
+
+// Métriques d'une résolution en cours, consultables par JMX (jconsole, VisualVM...).
+public interface SolverMetricsMXBean {
+    String getLabel();
+
+    String getInstanceId();
+
+    long getElapsedMillis();
+
+    long getNodes();
+
+    long getFails();
+
+    long getBacktracks();
+
+    long getRestarts();
+
+    long getSolutions();
+
+    // Makespan de la meilleure solution trouvée, -1 s'il n'y en a pas encore
+    int getIncumbentMakespan();
+
+    boolean isRunning();
+}
@@ -0,0 +1,234 @@
+package main;
+
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.search.loop.monitors.IMonitorClose;
+import org.chocosolver.solver.search.loop.monitors.IMonitorOpenNode;
+import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
+import org.chocosolver.solver.search.measure.IMeasures;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Instrumentation d'une résolution Choco, branchée comme moniteur de recherche. Elle exporte en
+// lignes JSON le profil de construction du modèle (temps, variables et contraintes par famille),
+// puis l'état de la recherche (nœuds, échecs, retours arrière, redémarrages, makespan courant) à
+// chaque solution, à intervalle régulier et en fin de résolution. En option, le même état est
+// publié comme MBean JMX pendant la résolution. Sans configuration, attach() ne branche rien.
+public class SolverTelemetry implements IMonitorSolution, IMonitorOpenNode, IMonitorClose, SolverMetricsMXBean {
+    private static PrintWriter sink;
+    private static boolean jmx;
+    private static long intervalMillis = 1000;
+    private static final AtomicInteger counter = new AtomicInteger();
+
+    private final boolean enabled;
+    private final String label;
+    private final TransmissionModel transmissionModel;
+    private final Solver solver;
+    private final long startNanos = System.nanoTime();
+    private long lastReportNanos = this.startNanos;
+    private volatile int incumbent = -1;
+    private volatile boolean running = true;
+    private ObjectName objectName;
+
+    public static synchronized void configure(String jsonLinesPath, boolean registerMBeans, long reportIntervalMillis) throws IOException {
+        if (jsonLinesPath != null) {
+            sink = new PrintWriter(new BufferedWriter(new FileWriter(jsonLinesPath)));
+        }
+        jmx = registerMBeans;
+        intervalMillis = reportIntervalMillis;
+    }
+
+    public static synchronized void shutdown() {
+        if (sink != null) {
+            sink.close();
+            sink = null;
+        }
+    }
+
+    // À appeler avant la résolution ; finish() doit être appelé une fois la résolution terminée
+    public static SolverTelemetry attach(TransmissionModel transmissionModel, String label) {
+        boolean enabled;
+        synchronized (SolverTelemetry.class) {
+            enabled = sink != null || jmx;
+        }
+        SolverTelemetry telemetry = new SolverTelemetry(transmissionModel, label + "-" + counter.incrementAndGet(), enabled);
+        if (enabled) {
+            transmissionModel.getModel().getSolver().plugMonitor(telemetry);
+        }
+        return telemetry;
+    }
+
+    private SolverTelemetry(TransmissionModel transmissionModel, String label, boolean enabled) {
+        this.enabled = enabled;
+        this.label = label;
+        this.transmissionModel = transmissionModel;
+        this.solver = transmissionModel.getModel().getSolver();
+        if (!enabled)
+            return;
+        Map<String, Object> record = record("model");
+        record.put("options", transmissionModel.getOptions().toString());
+        record.put("build_ms", transmissionModel.getBuildTimeMillis());
+        record.put("variables", transmissionModel.getModel().getNbVars());
+        record.put("constraints", transmissionModel.getModel().getNbCstrs());
+        List<Map<String, Object>> families = new ArrayList<>();
+        for (ModelProfile.Family family : transmissionModel.getProfile().getFamilies()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("family", family.getName());
+            entry.put("ms", family.getMillis());
+            entry.put("variables", family.getVariables());
+            entry.put("constraints", family.getConstraints());
+            families.add(entry);
+        }
+        record.put("families", families);
+        Preprocessing preprocessing = transmissionModel.getPreprocessing();
+        if (preprocessing != null) {
+            record.put("makespan_lower_bound", preprocessing.getMakespanLowerBound());
+            record.put("pruned_windows", preprocessing.getNbPrunedWindows());
+        }
+        write(record);
+        if (jmx) {
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                this.objectName = new ObjectName("main:type=Solver,name=" + ObjectName.quote(label));
+                server.registerMBean(this, this.objectName);
+            } catch (JMException e) {
+                System.err.println("Enregistrement JMX impossible pour " + label + " : " + e.getMessage());
+                this.objectName = null;
+            }
+        }
+    }
+
+    @Override
+    public void onSolution() {
+        this.incumbent = this.transmissionModel.getMakespan().getValue();
+        write(progress("solution"));
+    }
+
+    // Le test du temps écoulé n'est fait que tous les 1024 nœuds
+    @Override
+    public void afterOpenNode() {
+        if ((this.solver.getMeasures().getNodeCount() & 1023) != 0)
+            return;
+        long now = System.nanoTime();
+        if ((now - this.lastReportNanos) / 1_000_000 >= intervalMillis) {
+            this.lastReportNanos = now;
+            write(progress("progress"));
+        }
+    }
+
+    // Choco peut clore la recherche plusieurs fois au cours d'une optimisation : la ligne finale est
+    // écrite par finish(), une fois la résolution rendue
+    @Override
+    public void afterClose() {
+        write(progress("close"));
+    }
+
+    public void finish() {
+        if (!this.enabled)
+            return;
+        this.running = false;
+        Map<String, Object> record = progress("final");
+        record.put("optimal", this.solver.getMeasures().isObjectiveOptimal());
+        record.put("search_state", this.solver.getMeasures().getSearchState().toString());
+        write(record);
+        if (this.objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.objectName);
+            } catch (JMException e) {
+                System.err.println("Désenregistrement JMX impossible pour " + this.label + " : " + e.getMessage());
+            }
+        }
+    }
+
+    private Map<String, Object> record(String type) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("type", type);
+        record.put("label", this.label);
+        record.put("instance", getInstanceId());
+        record.put("elapsed_ms", getElapsedMillis());
+        return record;
+    }
+
+    private Map<String, Object> progress(String type) {
+        IMeasures measures = this.solver.getMeasures();
+        Map<String, Object> record = record(type);
+        record.put("nodes", measures.getNodeCount());
+        record.put("fails", measures.getFailCount());
+        record.put("backtracks", measures.getBackTrackCount());
+        record.put("restarts", measures.getRestartCount());
+        record.put("solutions", measures.getSolutionCount());
+        record.put("makespan", this.incumbent < 0 ? null : this.incumbent);
+        return record;
+    }
+
+    private static void write(Map<String, Object> record) {
+        synchronized (SolverTelemetry.class) {
+            if (sink == null)
+                return;
+            try {
+                sink.println(Utils.MAPPER.writeValueAsString(record));
+                sink.flush();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    @Override
+    public String getLabel() {
+        return this.label;
+    }
+
+    @Override
+    public String getInstanceId() {
+        return this.transmissionModel.getInstance().getId();
+    }
+
+    @Override
+    public long getElapsedMillis() {
+        return (System.nanoTime() - this.startNanos) / 1_000_000;
+    }
+
+    @Override
+    public long getNodes() {
+        return this.solver.getMeasures().getNodeCount();
+    }
+
+    @Override
+    public long getFails() {
+        return this.solver.getMeasures().getFailCount();
+    }
+
+    @Override
+    public long getBacktracks() {
+        return this.solver.getMeasures().getBackTrackCount();
+    }
+
+    @Override
+    public long getRestarts() {
+        return this.solver.getMeasures().getRestartCount();
+    }
+
+    @Override
+    public long getSolutions() {
+        return this.solver.getMeasures().getSolutionCount();
+    }
+
+    @Override
+    public int getIncumbentMakespan() {
+        return this.incumbent;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+}
@@ -0,0 +1,30 @@
+package main;
+
+// Encodage de la contrainte de capacité des stations au sol.
+public enum StationCapacityMode {
+    // Un indicateur réifié par (station, instant échantillonné, fichier) puis une somme bornée ;
+    // les instants sont espacés d'au moins 5 minutes, la capacité n'est donc qu'approchée
+    TIME_POINTS("points"),
+    // Une tâche optionnelle par (fichier, station) et une contrainte cumulative par station ;
+    // la capacité est vérifiée exactement à chaque début de tâche
+    CUMULATIVE("cumulative");
+
+    private final String name;
+
+    StationCapacityMode(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public static StationCapacityMode fromName(String name) {
+        for (StationCapacityMode mode : values()) {
+            if (mode.name.equalsIgnoreCase(name)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Mode de capacité des stations inconnu : " + name);
+    }
+}
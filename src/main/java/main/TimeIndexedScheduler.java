@@ -0,0 +1,227 @@
+package main;
+
+import data.satellite.TransmissionInstance;
+import org.chocosolver.util.tools.TimeUtils;
+
+import java.util.*;
+import java.util.function.ToIntFunction;
+
+// Relaxation linéaire indexée par le temps (fichier x fenêtre x créneau) résolue par Simplex, puis
+// arrondi par l'heuristique gloutonne. Une colonne x[f, w, a] vaut 1 si le fichier f commence dans
+// la fenêtre w pendant le créneau [a, a + pas) ; chaque ligne reste valide quelle que soit la date
+// exacte dans le créneau, la valeur optimale est donc une borne inférieure du makespan :
+// - affectation : chaque fichier traité commence dans exactement un créneau ;
+// - makespan : C >= somme des (début minimal du créneau + durée) x ;
+// - précédence : somme des débuts maximaux de f >= somme des débuts minimaux de p + durée de p ;
+// - capacité : sur chaque créneau, les colonnes dont l'occupation certaine (du début maximal à la
+//   fin minimale) le couvre ne dépassent pas les canaux du satellite et de la station.
+// Les débuts moyens de la relaxation servent de priorités à l'heuristique gloutonne.
+public class TimeIndexedScheduler implements ScheduleSolver {
+    private final String timeLimit;
+    // Pas des créneaux en minutes, 0 pour le choisir selon maxColumns
+    private final int slot;
+    private final int maxColumns;
+
+    public TimeIndexedScheduler(String timeLimit, int slot, int maxColumns) {
+        this.timeLimit = timeLimit;
+        this.slot = slot;
+        this.maxColumns = maxColumns;
+    }
+
+    @Override
+    public String getName() {
+        return "lp";
+    }
+
+    @Override
+    public Schedule solve(TransmissionInstance instance) {
+        long startMillis = System.currentTimeMillis();
+        long deadline = startMillis + TimeUtils.convertInMilliseconds(this.timeLimit);
+        CompiledInstance compiled = CompiledInstance.of(instance);
+        Preprocessing preprocessing = Preprocessing.of(compiled);
+        LowerBounds bounds = LowerBounds.of(compiled);
+        int[] fileSatellite = compiled.getFileSatellite();
+        int[] satWindowOffset = compiled.getSatelliteWindowOffset();
+        int[] windowStation = compiled.getWindowStation();
+
+        // Pas des créneaux : le plus petit qui garde au plus maxColumns colonnes
+        long range = 0;
+        for (int f = 0; f < compiled.getNbFiles(); f++) {
+            if (!preprocessing.isModelled(f))
+                continue;
+            for (int w : preprocessing.getWindows(f)) {
+                int g = satWindowOffset[fileSatellite[f]] + w;
+                range += Math.max(0, latestStart(compiled, preprocessing, f, g) - earliestStart(compiled, preprocessing, f, g) + 1);
+            }
+        }
+        int step = this.slot > 0 ? this.slot : (int) Math.max(1, (range + this.maxColumns - 1) / this.maxColumns);
+
+        // Colonnes : fichier, fenêtre globale, début minimal et maximal du créneau ; la dernière est C
+        List<int[]> columns = new ArrayList<>();
+        List<List<Integer>> fileColumns = new ArrayList<>();
+        for (int f = 0; f < compiled.getNbFiles(); f++) {
+            List<Integer> own = new ArrayList<>();
+            fileColumns.add(own);
+            if (!preprocessing.isModelled(f))
+                continue;
+            for (int w : preprocessing.getWindows(f)) {
+                int g = satWindowOffset[fileSatellite[f]] + w;
+                int lo = earliestStart(compiled, preprocessing, f, g);
+                int hi = latestStart(compiled, preprocessing, f, g);
+                for (int a = lo; a <= hi; a += step) {
+                    own.add(columns.size());
+                    columns.add(new int[]{f, g, a, Math.min(a + step - 1, hi)});
+                }
+            }
+        }
+        int makespanColumn = columns.size();
+        Simplex simplex = new Simplex(columns.size() + 1);
+        simplex.setObjective(makespanColumn, 1);
+
+        int[] predOffset = compiled.getPredecessorOffset();
+        int[] preds = compiled.getPredecessors();
+        for (int f = 0; f < compiled.getNbFiles(); f++) {
+            List<Integer> own = fileColumns.get(f);
+            if (own.isEmpty())
+                continue;
+            int[] indices = new int[own.size()];
+            double[] ones = new double[own.size()];
+            int[] withMakespan = new int[own.size() + 1];
+            double[] ends = new double[own.size() + 1];
+            for (int i = 0; i < own.size(); i++) {
+                int[] column = columns.get(own.get(i));
+                indices[i] = own.get(i);
+                ones[i] = 1;
+                withMakespan[i] = own.get(i);
+                ends[i] = column[2] + compiled.getDuration(f, column[1]);
+            }
+            withMakespan[own.size()] = makespanColumn;
+            ends[own.size()] = -1;
+            simplex.addRow(indices, ones, '=', 1);
+            simplex.addRow(withMakespan, ends, '<', 0);
+
+            for (int i = predOffset[f]; i < predOffset[f + 1]; i++) {
+                int p = preds[i];
+                List<Integer> before = fileColumns.get(p);
+                if (before.isEmpty())
+                    continue;
+                int[] precedence = new int[own.size() + before.size()];
+                double[] coefficients = new double[precedence.length];
+                for (int j = 0; j < own.size(); j++) {
+                    precedence[j] = own.get(j);
+                    coefficients[j] = columns.get(own.get(j))[3];
+                }
+                // Fin au plus tôt du prédécesseur : début minimal du créneau et durée dans sa fenêtre
+                for (int j = 0; j < before.size(); j++) {
+                    int[] column = columns.get(before.get(j));
+                    precedence[own.size() + j] = before.get(j);
+                    coefficients[own.size() + j] = -(column[2] + compiled.getDuration(p, column[1]));
+                }
+                simplex.addRow(precedence, coefficients, '>', 0);
+            }
+        }
+        addCapacityRows(compiled, simplex, columns, step, c -> fileSatellite[c[0]], compiled.getSatelliteChannels());
+        addCapacityRows(compiled, simplex, columns, step, c -> windowStation[c[1]], compiled.getStationChannels());
+        long buildTimeMillis = System.currentTimeMillis() - startMillis;
+
+        long solveStart = System.currentTimeMillis();
+        Simplex.Status status;
+        // Le tableau du simplexe est dense : au-delà de la moitié de la mémoire, on se contente de la
+        // borne combinatoire et de l'heuristique gloutonne
+        if (simplex.getTableauSize() * Double.BYTES > Runtime.getRuntime().maxMemory() / 2) {
+            System.err.println("Relaxation linéaire trop grande (" + columns.size() + " colonnes, " + simplex.getNbRows()
+                    + " lignes) : augmenter le pas des créneaux avec --slot");
+            status = Simplex.Status.TIME_LIMIT;
+        } else {
+            status = simplex.solve(deadline);
+        }
+        System.out.println("Relaxation linéaire : " + columns.size() + " colonnes, " + simplex.getNbRows()
+                + " lignes, créneaux de " + step + " min, " + simplex.getPivots() + " pivots en "
+                + (System.currentTimeMillis() - solveStart) + " ms (" + status + ")");
+
+        // Priorités : début moyen de la relaxation, date de disponibilité à défaut
+        int[] priority = compiled.getRelease().clone();
+        int lowerBound = bounds.isInfeasible() ? -1 : bounds.getBound();
+        if (status == Simplex.Status.OPTIMAL) {
+            double[] x = simplex.getSolution();
+            double[] meanStart = new double[compiled.getNbFiles()];
+            for (int c = 0; c < columns.size(); c++) {
+                int[] column = columns.get(c);
+                meanStart[column[0]] += x[c] * (column[2] + column[3]) / 2.0;
+            }
+            for (int f = 0; f < compiled.getNbFiles(); f++) {
+                if (!fileColumns.get(f).isEmpty()) {
+                    priority[f] = (int) Math.round(meanStart[f]);
+                }
+            }
+            int lpBound = (int) Math.ceil(simplex.getObjectiveValue() - 1e-6);
+            System.out.println("Borne de la relaxation : " + lpBound + ", " + bounds);
+            if (lowerBound >= 0) {
+                lowerBound = Math.max(lowerBound, lpBound);
+            }
+        } else if (status == Simplex.Status.INFEASIBLE) {
+            System.err.println("Relaxation linéaire infaisable : aucun planning complet");
+        }
+
+        // Arrondi : heuristique gloutonne guidée par la relaxation, comparée à l'ordre par disponibilité
+        GreedyScheduler greedy = new GreedyScheduler();
+        Schedule schedule = greedy.solve(compiled, priority);
+        Schedule byRelease = greedy.solve(compiled);
+        if (byRelease.getTransmissions().size() > schedule.getTransmissions().size()
+                || (byRelease.getTransmissions().size() == schedule.getTransmissions().size()
+                && byRelease.getMakespan() < schedule.getMakespan())) {
+            schedule = byRelease;
+        }
+        schedule.setBuildTimeMillis(buildTimeMillis);
+        // La borne vaut pour un planning complet : elle n'est pas comparée à un arrondi partiel
+        int nbMissing = 0;
+        for (int f = 0; f < compiled.getNbFiles(); f++) {
+            if (!fileColumns.get(f).isEmpty() && schedule.get(compiled.getFileId(f)) == null) {
+                nbMissing++;
+            }
+        }
+        if (nbMissing > 0) {
+            System.out.println("Arrondi incomplet : " + nbMissing + " fichier(s) de la relaxation non planifié(s), "
+                    + "aucun écart à la borne " + lowerBound);
+        } else if (lowerBound >= 0) {
+            schedule.setLowerBound(lowerBound);
+            schedule.setProvenOptimal(schedule.getMakespan() <= lowerBound);
+        }
+        return schedule;
+    }
+
+    private static int earliestStart(CompiledInstance compiled, Preprocessing preprocessing, int f, int g) {
+        return Math.max(preprocessing.getEarliestStart(f), compiled.getWindowStart()[g]);
+    }
+
+    private static int latestStart(CompiledInstance compiled, Preprocessing preprocessing, int f, int g) {
+        return Math.min(preprocessing.getLatestStart(f), compiled.getWindowEnd()[g] - compiled.getDuration(f, g));
+    }
+
+    // Une ligne par (ressource, créneau) dont les colonnes couvrantes pourraient dépasser la capacité
+    private static void addCapacityRows(CompiledInstance compiled, Simplex simplex, List<int[]> columns, int step,
+                                        ToIntFunction<int[]> resourceOf, int[] channels) {
+        Map<Long, List<Integer>> covering = new HashMap<>();
+        for (int c = 0; c < columns.size(); c++) {
+            int[] column = columns.get(c);
+            // Occupation certaine : [début maximal, début minimal + durée)
+            int from = Math.floorDiv(column[3] + step - 1, step);
+            int to = Math.floorDiv(column[2] + compiled.getDuration(column[0], column[1]), step);
+            long resource = resourceOf.applyAsInt(column);
+            for (int segment = from; segment < to; segment++) {
+                covering.computeIfAbsent((resource << 32) | (segment & 0xffffffffL), key -> new ArrayList<>()).add(c);
+            }
+        }
+        List<Long> keys = new ArrayList<>(covering.keySet());
+        Collections.sort(keys);
+        for (long key : keys) {
+            List<Integer> cover = covering.get(key);
+            int capacity = channels[(int) (key >> 32)];
+            if (cover.stream().map(c -> columns.get(c)[0]).distinct().count() <= capacity)
+                continue;
+            double[] ones = new double[cover.size()];
+            Arrays.fill(ones, 1);
+            simplex.addRow(cover.stream().mapToInt(Integer::intValue).toArray(), ones, '<', capacity);
+        }
+    }
+}
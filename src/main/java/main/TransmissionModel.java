@@ -0,0 +1,779 @@
+package main;
+
+import data.satellite.*;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.variables.BoolVar;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Task;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+// Construction du modèle Choco de planification à partir d'une instance de transmission.
+public class TransmissionModel {
+
+    // Repère temporel commun : début de la journée du 8 février 2023.
+    static final LocalDateTime BASE_TIME = LocalDateTime.of(2023, 2, 8, 0, 0);
+    // Débit par défaut en Mo/min, lorsque ni le satellite ni la station ne déclarent le leur
+    static final double EFFECTIVE_RATE = 10.0;
+    // Au-delà de ce nombre de paires de fichiers pouvant se chevaucher, l'encodage par paires
+    // (plusieurs contraintes réifiées par paire) ne tient plus en mémoire : les intervalles par
+    // fenêtre sont retenus à sa place
+    static final long MAX_OVERLAP_PAIRS = 50_000;
+
+    private final TransmissionInstance instance;
+    private final CompiledInstance compiled;
+    private final ModelOptions options;
+    private final Model model;
+
+    // Maps pour stocker les variables associées à chaque fichier traité
+    private final Map<String, IntVar> startVars = new HashMap<>();
+    private final Map<String, IntVar> endVars = new HashMap<>();
+    private final Map<String, IntVar> windowChoiceVars = new HashMap<>();
+    private final Map<String, IntVar> stationAssignedVars = new HashMap<>();
+    // Identifiants des fichiers traités, dans l'ordre de création des variables
+    private final List<String> fileIds = new ArrayList<>();
+    // Stockage des durées calculées pour chaque fichier traité
+    private final Map<String, Integer> durationMap = new HashMap<>();
+    // Stations atteignables par chaque fichier traité (indices dans instance.getStations())
+    private final Map<String, int[]> possibleStationsMap = new HashMap<>();
+
+    // Variables indexées par numéro de fichier compilé (null pour un fichier non traité), et numéros
+    // des fichiers traités dans l'ordre de getFileIds()
+    private final IntVar[] startByFile;
+    private final IntVar[] endByFile;
+    private final IntVar[] windowByFile;
+    private final IntVar[] stationByFile;
+    // Durée dépendant de la fenêtre choisie (null si elle ne dépend que du fichier, débits uniformes)
+    private final IntVar[] durationByFile;
+    // Transmission effective du fichier (objectif volume seulement, null sinon)
+    private final BoolVar[] sentByFile;
+    private final int[][] possibleStationsByFile;
+    private int[] modelledFiles;
+    private int nbModelled;
+
+    private final Station[] stations;
+
+    private int horizon;
+    // Fin de l'horizon de l'objectif volume (horizon si elle n'est pas précisée)
+    private int until;
+    private IntVar makespan;
+    // Volume téléchargé avant la fin de l'horizon, en Mo (objectif volume seulement, null sinon)
+    private IntVar volume;
+    private long buildTimeMillis;
+    private final ModelProfile profile = new ModelProfile();
+    private Preprocessing preprocessing;
+
+    public TransmissionModel(TransmissionInstance instance, ModelOptions options) {
+        this(CompiledInstance.of(instance), options);
+    }
+
+    public TransmissionModel(CompiledInstance compiled, ModelOptions options) {
+        this.instance = compiled.getInstance();
+        this.compiled = compiled;
+        this.options = options;
+        this.model = new Model("Planification Téléchargement Satellite");
+        this.stations = this.instance.getStations();
+        int nbFiles = compiled.getNbFiles();
+        this.startByFile = new IntVar[nbFiles];
+        this.endByFile = new IntVar[nbFiles];
+        this.windowByFile = new IntVar[nbFiles];
+        this.stationByFile = new IntVar[nbFiles];
+        this.durationByFile = new IntVar[nbFiles];
+        this.sentByFile = options.getObjectiveMode() == ObjectiveMode.VOLUME ? new BoolVar[nbFiles] : null;
+        this.possibleStationsByFile = new int[nbFiles][];
+        this.modelledFiles = new int[nbFiles];
+        long startNanos = System.nanoTime();
+        build();
+        this.buildTimeMillis = (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private void build() {
+        int nbFiles = compiled.getNbFiles();
+        int[] release = compiled.getRelease();
+        int[] duration = compiled.getDuration();
+        int[] satFileOffset = compiled.getSatelliteFileOffset();
+        int[] satWindowOffset = compiled.getSatelliteWindowOffset();
+        int[] windowStart = compiled.getWindowStart();
+        int[] windowEnd = compiled.getWindowEnd();
+        int[] windowStation = compiled.getWindowStation();
+
+        // Horizon temporel : fin maximale d'une fenêtre sur tous les satellites
+        horizon = compiled.getHorizon();
+        // Objectif volume : seules comptent les transmissions terminées avant la fin de l'horizon
+        boolean optional = sentByFile != null;
+        until = optional && options.getUntil() >= 0 ? options.getUntil() : horizon;
+
+        // Dates au plus tôt et au plus tard le long des chaînes de prédécesseurs, fenêtres élaguées.
+        // Avec des fichiers optionnels, un successeur non transmis ne contraint plus ses prédécesseurs :
+        // les bornes du prétraitement ne sont plus valides
+        if (options.isPreprocessing() && !optional) {
+            profile.begin(model);
+            preprocessing = Preprocessing.of(compiled);
+            preprocessing.printWarnings();
+            profile.end("preprocessing", model);
+        }
+
+        // Itération sur chaque satellite et sur chaque fichier
+        profile.begin(model);
+        int[] viable = new int[16];
+        int nbBeyondHorizon = 0;
+        for (int k = 0; k < compiled.getNbSatellites(); k++) {
+            int nbWindows = satWindowOffset[k + 1] - satWindowOffset[k];
+            // Association de la fenêtre à une station via un tableau de correspondance, et stations
+            // atteignables depuis ce satellite (communes à tous ses fichiers)
+            int[] windowMapping = Arrays.copyOfRange(windowStation, satWindowOffset[k], satWindowOffset[k + 1]);
+            int[] possibleStations = Arrays.stream(windowMapping).distinct().sorted().toArray();
+            int[] satelliteWindowStarts = Arrays.copyOfRange(windowStart, satWindowOffset[k], satWindowOffset[k + 1]);
+            if (viable.length < nbWindows) {
+                viable = new int[nbWindows];
+            }
+
+            for (int f = satFileOffset[k]; f < satFileOffset[k + 1]; f++) {
+                String fileId = compiled.getFileId(f);
+                int releaseTime = release[f];
+                durationMap.put(fileId, duration[f]);
+
+                int fileStartLowerBound = releaseTime;
+                int fileStartUpperBound = Math.max(horizon, releaseTime);
+
+                // Réduction du domaine de windowChoice en filtrant les fenêtres viables (avant la fin de
+                // l'horizon pour l'objectif volume)
+                int nbViable = 0;
+                boolean fits = false;
+                for (int w = 0; w < nbWindows; w++) {
+                    int g = satWindowOffset[k] + w;
+                    fits |= compiled.fits(f, g);
+                    if (compiled.fits(f, g) && (!optional || Math.max(releaseTime, windowStart[g]) + compiled.getDuration(f, g) <= until)) {
+                        viable[nbViable++] = w;
+                    }
+                }
+                if (nbViable == 0 && fits) {
+                    nbBeyondHorizon++;
+                    continue;
+                }
+                if (nbViable == 0) {
+                    System.err.println("Aucune fenêtre viable pour le fichier " + fileId);
+                    // On ne traite pas ce fichier dans le modèle
+                    continue;
+                }
+                int[] windowDomain = Arrays.copyOf(viable, nbViable);
+                if (preprocessing != null) {
+                    windowDomain = preprocessing.getWindows(f);
+                    fileStartLowerBound = preprocessing.getEarliestStart(f);
+                    fileStartUpperBound = preprocessing.getLatestStart(f);
+                }
+                IntVar windowChoice = model.intVar("window_" + fileId, windowDomain);
+                IntVar start = model.intVar("start_" + fileId, fileStartLowerBound, fileStartUpperBound);
+                IntVar end;
+                if (compiled.isUniformRates()) {
+                    end = model.intVar("end_" + fileId, fileStartLowerBound + duration[f], fileStartUpperBound + duration[f]);
+                    model.arithm(end, "=", start, "+", duration[f]).post();
+                } else {
+                    // Durée indexée par la fenêtre choisie : débit du satellite et de la station de la fenêtre
+                    int[] windowDurations = new int[nbWindows];
+                    for (int w = 0; w < nbWindows; w++) {
+                        windowDurations[w] = compiled.getDuration(f, satWindowOffset[k] + w);
+                    }
+                    IntVar fileDuration = model.intVar("duration_" + fileId,
+                            Arrays.stream(windowDomain).map(w -> windowDurations[w]).distinct().sorted().toArray());
+                    model.element(fileDuration, windowDurations, windowChoice).post();
+                    end = model.intVar("end_" + fileId, fileStartLowerBound + fileDuration.getLB(), fileStartUpperBound + fileDuration.getUB());
+                    model.arithm(start, "+", fileDuration, "=", end).post();
+                    durationByFile[f] = fileDuration;
+                }
+                if (optional) {
+                    model.arithm(end, "<=", until).post();
+                    sentByFile[f] = model.boolVar("sent_" + fileId);
+                }
+                // Association des variables créées pour ce fichier
+                modelledFiles[nbModelled++] = f;
+                fileIds.add(fileId);
+                startByFile[f] = start;
+                endByFile[f] = end;
+                windowByFile[f] = windowChoice;
+                startVars.put(fileId, start);
+                endVars.put(fileId, end);
+                windowChoiceVars.put(fileId, windowChoice);
+
+                IntVar stationAssigned = model.intVar("station_" + fileId, possibleStations);
+                stationByFile[f] = stationAssigned;
+                stationAssignedVars.put(fileId, stationAssigned);
+                possibleStationsMap.put(fileId, possibleStations);
+                possibleStationsByFile[f] = possibleStations;
+                model.element(stationAssigned, windowMapping, windowChoice).post();
+
+                // Contraintes sur la fenêtre choisie (seules les valeurs du domaine peuvent l'être)
+                switch (options.getWindowMode()) {
+                    case REIFIED -> {
+                        for (int w : windowDomain) {
+                            model.ifThen(
+                                model.arithm(windowChoice, "=", w),
+                                model.and(
+                                    model.arithm(start, ">=", windowStart[satWindowOffset[k] + w]),
+                                    model.arithm(end, "<=", windowEnd[satWindowOffset[k] + w])
+                                )
+                            );
+                        }
+                    }
+                    case PROPAGATOR -> {
+                        int[] latestStarts = new int[nbWindows];
+                        for (int w = 0; w < nbWindows; w++) {
+                            latestStarts[w] = windowEnd[satWindowOffset[k] + w] - compiled.getDuration(f, satWindowOffset[k] + w);
+                        }
+                        new Constraint("FileInWindow_" + fileId,
+                                new PropFileInWindow(start, windowChoice, satelliteWindowStarts, latestStarts)).post();
+                    }
+                }
+            }
+        }
+        modelledFiles = Arrays.copyOf(modelledFiles, nbModelled);
+        if (nbBeyondHorizon > 0) {
+            System.out.println(nbBeyondHorizon + " fichier(s) ne peuvent pas être transmis avant " + until);
+        }
+        profile.end("files", model);
+
+        // Contraintes de précédence (on ne traite que les fichiers ayant été ajoutés). Avec des fichiers
+        // optionnels, un fichier transmis suppose ses prédécesseurs transmis, et un prédécesseur non
+        // traité empêche la transmission
+        profile.begin(model);
+        int[] predOffset = compiled.getPredecessorOffset();
+        int[] preds = compiled.getPredecessors();
+        for (int f : modelledFiles) {
+            for (int i = predOffset[f]; i < predOffset[f + 1]; i++) {
+                if (endByFile[preds[i]] != null && optional) {
+                    model.arithm(sentByFile[f], "<=", sentByFile[preds[i]]).post();
+                    model.ifThen(sentByFile[f], model.arithm(startByFile[f], ">=", endByFile[preds[i]]));
+                } else if (endByFile[preds[i]] != null) {
+                    model.arithm(startByFile[f], ">=", endByFile[preds[i]]).post();
+                } else if (optional) {
+                    model.arithm(sentByFile[f], "=", 0).post();
+                } else {
+                    System.err.println("Prédécesseur non trouvé pour " + compiled.getFileId(f) + " : " + compiled.getFileId(preds[i]));
+                }
+            }
+        }
+        for (String[] missing : compiled.getMissingPredecessors()) {
+            if (startVars.containsKey(missing[0])) {
+                System.err.println("Prédécesseur non trouvé pour " + missing[0] + " : " + missing[1]);
+            }
+        }
+
+        profile.end("precedence", model);
+
+        // Contrainte de chevauchement sur un même satellite
+        profile.begin(model);
+        OverlapMode overlapMode = options.getOverlapMode();
+        if (overlapMode == OverlapMode.PAIRWISE) {
+            long pairs = countOverlapPairs();
+            if (pairs > MAX_OVERLAP_PAIRS) {
+                System.err.println(pairs + " paires de fichiers peuvent se chevaucher (plus de " + MAX_OVERLAP_PAIRS
+                        + ") : encodage " + OverlapMode.WINDOW_SPANS.getName() + " retenu au lieu de " + overlapMode.getName());
+                overlapMode = OverlapMode.WINDOW_SPANS;
+            }
+        }
+        switch (overlapMode) {
+            case PAIRWISE -> postOverlapPairwise();
+            case WINDOW_SPANS -> postOverlapWindowSpans();
+        }
+
+        profile.end("overlap", model);
+
+        // Contrainte cumulative pour la capacité des satellites
+        profile.begin(model);
+        int[] satelliteChannels = compiled.getSatelliteChannels();
+        for (int k = 0; k < compiled.getNbSatellites(); k++) {
+            int count = 0;
+            for (int f = satFileOffset[k]; f < satFileOffset[k + 1]; f++) {
+                if (startByFile[f] != null) {
+                    count++;
+                }
+            }
+            if (count == 0)
+                continue;
+            if (optional || !compiled.isUniformRates()) {
+                // Tâches de durée variable, de hauteur nulle pour un fichier non transmis
+                Task[] tasks = new Task[count];
+                IntVar[] heights = new IntVar[count];
+                int pos = 0;
+                for (int f = satFileOffset[k]; f < satFileOffset[k + 1]; f++) {
+                    if (startByFile[f] != null) {
+                        tasks[pos] = task(f);
+                        heights[pos++] = optional ? sentByFile[f] : model.intVar(1);
+                    }
+                }
+                model.cumulative(tasks, heights, model.intVar(satelliteChannels[k])).post();
+                continue;
+            }
+            IntVar[] startsArr = new IntVar[count];
+            int[] durationsArr = new int[count];
+            int[] heights = new int[count];
+            Arrays.fill(heights, 1);
+            int pos = 0;
+            for (int f = satFileOffset[k]; f < satFileOffset[k + 1]; f++) {
+                if (startByFile[f] != null) {
+                    startsArr[pos] = startByFile[f];
+                    durationsArr[pos++] = duration[f];
+                }
+            }
+            model.cumulative(startsArr, durationsArr, heights, satelliteChannels[k]);
+        }
+
+        profile.end("satellite_capacity", model);
+
+        // Contrainte de capacité des stations
+        profile.begin(model);
+        switch (options.getStationCapacityMode()) {
+            case TIME_POINTS -> postStationCapacityTimePoints();
+            case CUMULATIVE -> postStationCapacityCumulative();
+        }
+        profile.end("station_capacity", model);
+
+        // Fonction objective : minimiser le makespan (maximum de tous les temps de fin)
+        profile.begin(model);
+        // Les bornes des fins donnent celles du makespan (avec le prétraitement, la borne inférieure
+        // est le plus long chemin à travers les fenêtres)
+        IntVar[] allEnds = new IntVar[modelledFiles.length];
+        int makespanLowerBound = 0;
+        int makespanUpperBound = 0;
+        for (int i = 0; i < modelledFiles.length; i++) {
+            allEnds[i] = endByFile[modelledFiles[i]];
+            makespanLowerBound = Math.max(makespanLowerBound, allEnds[i].getLB());
+            makespanUpperBound = Math.max(makespanUpperBound, allEnds[i].getUB());
+        }
+        if (optional) {
+            // Objectif volume : le makespan ne porte que sur les fichiers transmis (fin ramenée à 0 sinon)
+            BoolVar[] sent = new BoolVar[modelledFiles.length];
+            int[] sizes = new int[modelledFiles.length];
+            int totalSize = 0;
+            for (int i = 0; i < modelledFiles.length; i++) {
+                int f = modelledFiles[i];
+                sent[i] = sentByFile[f];
+                sizes[i] = compiled.getSize()[f];
+                totalSize += sizes[i];
+                IntVar sentEnd = model.intVar("sentEnd_" + compiled.getFileId(f), 0, allEnds[i].getUB());
+                model.times(sent[i], allEnds[i], sentEnd).post();
+                allEnds[i] = sentEnd;
+            }
+            makespan = model.intVar("makespan", 0, makespanUpperBound);
+            model.max(makespan, allEnds).post();
+            volume = model.intVar("volume", 0, totalSize);
+            model.scalar(sent, sizes, "=", volume).post();
+            model.setObjective(Model.MAXIMIZE, volume);
+        } else {
+            makespan = model.intVar("makespan", makespanLowerBound, makespanUpperBound);
+            model.max(makespan, allEnds).post();
+            model.setObjective(Model.MINIMIZE, makespan);
+        }
+        profile.end("objective", model);
+    }
+
+    // Nombre de paires de fichiers traités d'un même satellite dont les plages de dates se recouvrent,
+    // c'est-à-dire de booléens de chevauchement que posterait l'encodage par paires. Une paire est
+    // disjointe si l'un des fichiers finit au plus tard quand l'autre commence au plus tôt : ces paires
+    // sont comptées par recherche dichotomique dans les fins triées, en O(n log n) par satellite.
+    private long countOverlapPairs() {
+        int[] satFileOffset = compiled.getSatelliteFileOffset();
+        long pairs = 0;
+        for (int k = 0; k < compiled.getNbSatellites(); k++) {
+            int n = 0;
+            int[] starts = new int[satFileOffset[k + 1] - satFileOffset[k]];
+            int[] ends = new int[starts.length];
+            for (int f = satFileOffset[k]; f < satFileOffset[k + 1]; f++) {
+                if (startByFile[f] != null) {
+                    starts[n] = startByFile[f].getLB();
+                    ends[n++] = endByFile[f].getUB();
+                }
+            }
+            Arrays.sort(ends, 0, n);
+            long disjoint = 0;
+            for (int i = 0; i < n; i++) {
+                // Fichiers finissant au plus tard au début au plus tôt du fichier i
+                int lo = 0;
+                int hi = n;
+                while (lo < hi) {
+                    int mid = (lo + hi) >>> 1;
+                    if (ends[mid] <= starts[i]) {
+                        lo = mid + 1;
+                    } else {
+                        hi = mid;
+                    }
+                }
+                disjoint += lo;
+            }
+            pairs += (long) n * (n - 1) / 2 - disjoint;
+        }
+        return pairs;
+    }
+
+    // Deux fichiers d'un même satellite qui se chevauchent doivent utiliser la même fenêtre
+    private void postOverlapPairwise() {
+        int[] satFileOffset = compiled.getSatelliteFileOffset();
+        for (int k = 0; k < compiled.getNbSatellites(); k++) {
+            for (int f1 = satFileOffset[k]; f1 < satFileOffset[k + 1]; f1++) {
+                if (startByFile[f1] == null)
+                    continue;
+                for (int f2 = f1 + 1; f2 < satFileOffset[k + 1]; f2++) {
+                    if (startByFile[f2] == null)
+                        continue;
+                    // Fichiers dont les plages de dates ne peuvent pas se recouvrir
+                    if (endByFile[f1].getUB() <= startByFile[f2].getLB() || endByFile[f2].getUB() <= startByFile[f1].getLB())
+                        continue;
+                    BoolVar overlap = model.boolVar("overlap_" + compiled.getFileId(f1) + "_" + compiled.getFileId(f2));
+                    if (sentByFile != null) {
+                        // Seules deux transmissions effectives se chevauchent
+                        model.and(
+                            model.arithm(startByFile[f1], "<", endByFile[f2]),
+                            model.arithm(startByFile[f2], "<", endByFile[f1]),
+                            model.arithm(sentByFile[f1], "=", 1),
+                            model.arithm(sentByFile[f2], "=", 1)
+                        ).reifyWith(overlap);
+                    } else {
+                        model.and(
+                            model.arithm(startByFile[f1], "<", endByFile[f2]),
+                            model.arithm(startByFile[f2], "<", endByFile[f1])
+                        ).reifyWith(overlap);
+                    }
+
+                    model.ifThen(
+                        model.arithm(overlap, "=", 1),
+                        model.arithm(windowByFile[f1], "=", windowByFile[f2])
+                    );
+                }
+            }
+        }
+    }
+
+    // Chaque fenêtre utilisée d'un satellite définit un intervalle d'utilisation [spanStart, spanEnd]
+    // couvrant les fichiers qui l'ont choisie ; les intervalles de deux fenêtres utilisées d'un même
+    // satellite sont disjoints. Le nombre de contraintes est en O(fichiers x fenêtres + fenêtres²)
+    // par satellite au lieu de O(fichiers²). Cette formulation impose une session de transmission
+    // contiguë par fenêtre : un satellite ne revient pas sur une antenne après l'avoir quittée
+    // au cours d'une même fenêtre.
+    private void postOverlapWindowSpans() {
+        int[] satFileOffset = compiled.getSatelliteFileOffset();
+        int[] satWindowOffset = compiled.getSatelliteWindowOffset();
+        int[] windowStart = compiled.getWindowStart();
+        int[] windowEnd = compiled.getWindowEnd();
+        for (int k = 0; k < compiled.getNbSatellites(); k++) {
+            String satelliteId = compiled.getSatelliteId(k);
+            int offset = satWindowOffset[k];
+            int nbWindows = satWindowOffset[k + 1] - offset;
+            List<List<BoolVar>> windowUsers = new ArrayList<>();
+            IntVar[] spanStarts = new IntVar[nbWindows];
+            IntVar[] spanEnds = new IntVar[nbWindows];
+            for (int w = 0; w < nbWindows; w++) {
+                windowUsers.add(new ArrayList<>());
+            }
+            for (int f = satFileOffset[k]; f < satFileOffset[k + 1]; f++) {
+                IntVar windowChoice = windowByFile[f];
+                if (windowChoice == null)
+                    continue;
+                for (int w = windowChoice.getLB(); w <= windowChoice.getUB(); w = windowChoice.nextValue(w)) {
+                    if (spanStarts[w] == null) {
+                        int winStart = windowStart[offset + w];
+                        int winEnd = windowEnd[offset + w];
+                        spanStarts[w] = model.intVar("spanStart_" + satelliteId + "_" + w, winStart, winEnd);
+                        spanEnds[w] = model.intVar("spanEnd_" + satelliteId + "_" + w, winStart, winEnd);
+                        model.arithm(spanStarts[w], "<=", spanEnds[w]).post();
+                    }
+                    BoolVar onWindow = model.arithm(windowChoice, "=", w).reify();
+                    if (sentByFile != null) {
+                        // Un fichier non transmis n'utilise pas sa fenêtre
+                        onWindow = model.and(onWindow, sentByFile[f]).reify();
+                    }
+                    windowUsers.get(w).add(onWindow);
+                    model.ifThen(
+                        onWindow,
+                        model.and(
+                            model.arithm(startByFile[f], ">=", spanStarts[w]),
+                            model.arithm(endByFile[f], "<=", spanEnds[w])
+                        )
+                    );
+                }
+            }
+
+            BoolVar[] used = new BoolVar[nbWindows];
+            for (int w = 0; w < nbWindows; w++) {
+                if (spanStarts[w] == null)
+                    continue;
+                used[w] = model.boolVar("used_" + satelliteId + "_" + w);
+                model.max(used[w], windowUsers.get(w).toArray(new BoolVar[0])).post();
+            }
+            // Disjonction entre fenêtres utilisées dont les plages horaires se recouvrent
+            for (int w1 = 0; w1 < nbWindows; w1++) {
+                if (used[w1] == null)
+                    continue;
+                for (int w2 = w1 + 1; w2 < nbWindows; w2++) {
+                    if (used[w2] == null)
+                        continue;
+                    if (windowEnd[offset + w1] <= windowStart[offset + w2] || windowEnd[offset + w2] <= windowStart[offset + w1])
+                        continue;
+                    model.ifThen(
+                        model.and(used[w1], used[w2]),
+                        model.or(
+                            model.arithm(spanEnds[w1], "<=", spanStarts[w2]),
+                            model.arithm(spanEnds[w2], "<=", spanStarts[w1])
+                        )
+                    );
+                }
+            }
+        }
+    }
+
+    // Capacité des stations vérifiée sur des instants échantillonnés (pas de 5 minutes)
+    private void postStationCapacityTimePoints() {
+        int timeStep = 5;
+        // Construction d'un ensemble trié de points temporels pertinents
+        int[] release = compiled.getRelease();
+        int[] relevantTimes = new int[2 * compiled.getNbWindows() + 2 * compiled.getNbFiles()];
+        int n = 0;
+        for (int g = 0; g < compiled.getNbWindows(); g++) {
+            relevantTimes[n++] = compiled.getWindowStart()[g];
+            relevantTimes[n++] = compiled.getWindowEnd()[g];
+        }
+        for (int f = 0; f < compiled.getNbFiles(); f++) {
+            relevantTimes[n++] = release[f];
+            relevantTimes[n++] = Math.max(horizon, release[f]);
+        }
+        Arrays.sort(relevantTimes);
+        int[] filteredTimes = new int[relevantTimes.length];
+        int nbTimes = 0;
+        int lastAdded = -timeStep;
+        for (int t : relevantTimes) {
+            if (t - lastAdded >= timeStep) {
+                filteredTimes[nbTimes++] = t;
+                lastAdded = t;
+            }
+        }
+
+        int[] stationChannels = compiled.getStationChannels();
+        BoolVar[] indicators = new BoolVar[modelledFiles.length];
+        for (int s = 0; s < stationChannels.length; s++) {
+            for (int i = 0; i < nbTimes; i++) {
+                int t = filteredTimes[i];
+                for (int m = 0; m < modelledFiles.length; m++) {
+                    int f = modelledFiles[m];
+                    BoolVar cond1 = model.boolVar();
+                    model.arithm(startByFile[f], "<=", t).reifyWith(cond1);
+                    BoolVar cond2 = model.boolVar();
+                    model.arithm(endByFile[f], ">", t).reifyWith(cond2);
+                    BoolVar cond3 = model.boolVar();
+                    model.arithm(stationByFile[f], "=", s).reifyWith(cond3);
+                    BoolVar active = model.boolVar();
+                    if (sentByFile != null) {
+                        model.and(cond1, cond2, cond3, sentByFile[f]).reifyWith(active);
+                    } else {
+                        model.and(cond1, cond2, cond3).reifyWith(active);
+                    }
+                    indicators[m] = active;
+                }
+                if (indicators.length > 0) {
+                    model.sum(indicators.clone(), "<=", stationChannels[s]).post();
+                }
+            }
+        }
+    }
+
+    // Capacité des stations : chaque fichier est une tâche optionnelle sur chacune de ses stations
+    // possibles, de hauteur 1 si la station lui est affectée (et qu'il est transmis), 0 sinon.
+    private void postStationCapacityCumulative() {
+        int nbStations = compiled.getNbStations();
+        List<List<Task>> stationTasks = new ArrayList<>();
+        List<List<IntVar>> stationHeights = new ArrayList<>();
+        for (int s = 0; s < nbStations; s++) {
+            stationTasks.add(new ArrayList<>());
+            stationHeights.add(new ArrayList<>());
+        }
+        for (int f : modelledFiles) {
+            for (int s : possibleStationsByFile[f]) {
+                BoolVar onStation = model.arithm(stationByFile[f], "=", s).reify();
+                if (sentByFile != null) {
+                    onStation = model.and(onStation, sentByFile[f]).reify();
+                }
+                stationTasks.get(s).add(task(f));
+                stationHeights.get(s).add(onStation);
+            }
+        }
+        for (int s = 0; s < nbStations; s++) {
+            if (stationTasks.get(s).isEmpty())
+                continue;
+            model.cumulative(
+                stationTasks.get(s).toArray(new Task[0]),
+                stationHeights.get(s).toArray(new IntVar[0]),
+                model.intVar(compiled.getStationChannels()[s])
+            ).post();
+        }
+    }
+
+    // Tâche de transmission du fichier f, de durée fixe ou indexée par la fenêtre
+    private Task task(int f) {
+        if (durationByFile[f] != null) {
+            return new Task(startByFile[f], durationByFile[f], endByFile[f]);
+        }
+        return new Task(startByFile[f], compiled.getDuration()[f], endByFile[f]);
+    }
+
+    // Fige un fichier sur une fenêtre et une date de début données ; les contraintes posées sont
+    // rendues pour pouvoir être retirées
+    public List<Constraint> pin(String fileId, int windowIndex, int start) {
+        List<Constraint> pinned = List.of(model.arithm(windowChoiceVars.get(fileId), "=", windowIndex),
+                model.arithm(startVars.get(fileId), "=", start));
+        pinned.forEach(Constraint::post);
+        return pinned;
+    }
+
+    public TransmissionInstance getInstance() {
+        return this.instance;
+    }
+
+    public CompiledInstance getCompiled() {
+        return this.compiled;
+    }
+
+    // Numéros compilés des fichiers traités, dans l'ordre de getFileIds()
+    public int[] getModelledFiles() {
+        return this.modelledFiles;
+    }
+
+    // Variables du fichier compilé f, ou null s'il n'est pas traité dans le modèle
+    public IntVar getStartVar(int f) {
+        return this.startByFile[f];
+    }
+
+    public IntVar getEndVar(int f) {
+        return this.endByFile[f];
+    }
+
+    public IntVar getWindowChoiceVar(int f) {
+        return this.windowByFile[f];
+    }
+
+    public IntVar getStationAssignedVar(int f) {
+        return this.stationByFile[f];
+    }
+
+    // Transmission effective du fichier f (objectif volume), null sinon ou s'il n'est pas traité
+    public BoolVar getSentVar(int f) {
+        return this.sentByFile == null ? null : this.sentByFile[f];
+    }
+
+    public ModelOptions getOptions() {
+        return this.options;
+    }
+
+    public Model getModel() {
+        return this.model;
+    }
+
+    public List<String> getFileIds() {
+        return this.fileIds;
+    }
+
+    // Variables de choix de fenêtre des fichiers traités, dans l'ordre de getFileIds()
+    public IntVar[] getWindowChoiceArray() {
+        IntVar[] vars = new IntVar[this.modelledFiles.length];
+        for (int i = 0; i < vars.length; i++) {
+            vars[i] = this.windowByFile[this.modelledFiles[i]];
+        }
+        return vars;
+    }
+
+    // Variables de début des fichiers traités, dans l'ordre de getFileIds()
+    public IntVar[] getStartArray() {
+        IntVar[] vars = new IntVar[this.modelledFiles.length];
+        for (int i = 0; i < vars.length; i++) {
+            vars[i] = this.startByFile[this.modelledFiles[i]];
+        }
+        return vars;
+    }
+
+    public Map<String, IntVar> getStartVars() {
+        return this.startVars;
+    }
+
+    public Map<String, IntVar> getEndVars() {
+        return this.endVars;
+    }
+
+    public Map<String, IntVar> getWindowChoiceVars() {
+        return this.windowChoiceVars;
+    }
+
+    public Map<String, IntVar> getStationAssignedVars() {
+        return this.stationAssignedVars;
+    }
+
+    public Map<String, Integer> getDurationMap() {
+        return this.durationMap;
+    }
+
+    public Station[] getStations() {
+        return this.stations;
+    }
+
+    public Map<String, Integer> getStationIndex() {
+        return this.compiled.getStationIndex();
+    }
+
+    public int getHorizon() {
+        return this.horizon;
+    }
+
+    public int getUntil() {
+        return this.until;
+    }
+
+    public IntVar getMakespan() {
+        return this.makespan;
+    }
+
+    // Volume téléchargé en Mo (objectif volume), null sinon
+    public IntVar getVolume() {
+        return this.volume;
+    }
+
+    // Variable optimisée : volume à maximiser ou makespan à minimiser
+    public IntVar getObjective() {
+        return this.volume != null ? this.volume : this.makespan;
+    }
+
+    public boolean isMaximizing() {
+        return this.volume != null;
+    }
+
+    public long getBuildTimeMillis() {
+        return this.buildTimeMillis;
+    }
+
+    public ModelProfile getProfile() {
+        return this.profile;
+    }
+
+    // Résultat du prétraitement, ou null s'il est désactivé
+    public Preprocessing getPreprocessing() {
+        return this.preprocessing;
+    }
+
+    // Débit d'une transmission entre un satellite et une station : le plus faible des débits déclarés
+    // (0 : non renseigné), EFFECTIVE_RATE si aucun ne l'est
+    static double rate(double satelliteRate, double stationRate) {
+        if (satelliteRate <= 0 && stationRate <= 0)
+            return EFFECTIVE_RATE;
+        if (satelliteRate <= 0 || stationRate <= 0)
+            return Math.max(satelliteRate, stationRate);
+        return Math.min(satelliteRate, stationRate);
+    }
+
+    // Durée en minutes de la transmission d'un fichier de taille donnée (Mo) au débit donné
+    static int duration(int size, double rate) {
+        return (int) Math.ceil(size / rate);
+    }
+
+    // Convertit un LocalDateTime en minutes écoulées depuis BASE_TIME.
+    static int toMinutes(LocalDateTime dt) {
+        return (int) ChronoUnit.MINUTES.between(BASE_TIME, dt);
+    }
+}
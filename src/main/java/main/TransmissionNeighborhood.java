@@ -0,0 +1,211 @@
+package main;
+
+import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.search.loop.lns.neighbors.INeighbor;
+import org.chocosolver.solver.variables.IntVar;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Voisinages LNS propres au problème : on relâche les fichiers d'un satellite, les fichiers
+// affectés à une station, les fichiers débutant dans une tranche de l'horizon, ou une chaîne de
+// prédécesseurs tirée au hasard. Les autres fichiers conservent la fenêtre et la date de début
+// de la solution courante (et, pour l'objectif volume, leur transmission ou non). Les fichiers sont
+// repérés par leur position dans getFileIds().
+public class TransmissionNeighborhood implements INeighbor {
+    private static final int SATELLITE = 0;
+    private static final int STATION = 1;
+    private static final int TIME_SLICE = 2;
+    private static final int CHAIN = 3;
+
+    private final TransmissionModel transmissionModel;
+    private final IntVar[] windowVars;
+    private final IntVar[] startVars;
+    private final IntVar[] stationVars;
+    // Transmission effective de chaque fichier (objectif volume), null sinon
+    private final IntVar[] sentVars;
+    // Satellites ayant au moins un fichier traité, et fichiers de chacun
+    private final int[][] satelliteFiles;
+    // Voisins (prédécesseurs et successeurs traités) au format CSR
+    private final int[] neighbourOffset;
+    private final int[] neighbours;
+    private final Random random;
+
+    private final int[] windowValues;
+    private final int[] startValues;
+    private final int[] stationValues;
+    private final int[] sentValues;
+    private final boolean[] relaxed;
+    private final int[] toVisit;
+    // Nombre de relâchements infructueux consécutifs : élargit les voisinages
+    private int intensity = 1;
+
+    public TransmissionNeighborhood(TransmissionModel transmissionModel, long seed) {
+        this.transmissionModel = transmissionModel;
+        this.random = new Random(seed);
+        CompiledInstance compiled = transmissionModel.getCompiled();
+        int[] modelled = transmissionModel.getModelledFiles();
+        int n = modelled.length;
+        this.windowVars = transmissionModel.getWindowChoiceArray();
+        this.startVars = transmissionModel.getStartArray();
+        this.stationVars = new IntVar[n];
+        this.sentVars = transmissionModel.isMaximizing() ? new IntVar[n] : null;
+        int[] position = new int[compiled.getNbFiles()];
+        Arrays.fill(position, -1);
+        for (int m = 0; m < n; m++) {
+            this.stationVars[m] = transmissionModel.getStationAssignedVar(modelled[m]);
+            if (this.sentVars != null) {
+                this.sentVars[m] = transmissionModel.getSentVar(modelled[m]);
+            }
+            position[modelled[m]] = m;
+        }
+
+        int[] satFileCount = new int[compiled.getNbSatellites()];
+        for (int f : modelled) {
+            satFileCount[compiled.getFileSatellite()[f]]++;
+        }
+        this.satelliteFiles = Arrays.stream(satFileCount).filter(count -> count > 0).mapToObj(int[]::new).toArray(int[][]::new);
+        int[] satelliteSlot = new int[satFileCount.length];
+        for (int k = 0, slot = 0; k < satFileCount.length; k++) {
+            satelliteSlot[k] = satFileCount[k] > 0 ? slot++ : -1;
+        }
+        int[] fill = new int[this.satelliteFiles.length];
+        for (int m = 0; m < n; m++) {
+            int slot = satelliteSlot[compiled.getFileSatellite()[modelled[m]]];
+            this.satelliteFiles[slot][fill[slot]++] = m;
+        }
+
+        int[] predOffset = compiled.getPredecessorOffset();
+        int[] preds = compiled.getPredecessors();
+        int[] succOffset = compiled.getSuccessorOffset();
+        int[] succs = compiled.getSuccessors();
+        this.neighbourOffset = new int[n + 1];
+        int[] buffer = new int[predOffset[compiled.getNbFiles()] + succOffset[compiled.getNbFiles()]];
+        int count = 0;
+        for (int m = 0; m < n; m++) {
+            int f = modelled[m];
+            for (int i = predOffset[f]; i < predOffset[f + 1]; i++) {
+                if (position[preds[i]] >= 0) {
+                    buffer[count++] = position[preds[i]];
+                }
+            }
+            for (int i = succOffset[f]; i < succOffset[f + 1]; i++) {
+                if (position[succs[i]] >= 0) {
+                    buffer[count++] = position[succs[i]];
+                }
+            }
+            this.neighbourOffset[m + 1] = count;
+        }
+        this.neighbours = Arrays.copyOf(buffer, count);
+
+        this.windowValues = new int[n];
+        this.startValues = new int[n];
+        this.stationValues = new int[n];
+        this.sentValues = new int[n];
+        this.relaxed = new boolean[n];
+        this.toVisit = new int[n];
+    }
+
+    @Override
+    public void recordSolution() {
+        for (int m = 0; m < this.windowVars.length; m++) {
+            this.windowValues[m] = this.windowVars[m].getValue();
+            this.startValues[m] = this.startVars[m].getValue();
+            this.stationValues[m] = this.stationVars[m].getValue();
+            if (this.sentVars != null) {
+                this.sentValues[m] = this.sentVars[m].getValue();
+            }
+        }
+        this.intensity = 1;
+    }
+
+    @Override
+    public void loadFromSolution(Solution solution) {
+        for (int m = 0; m < this.windowVars.length; m++) {
+            this.windowValues[m] = solution.getIntVal(this.windowVars[m]);
+            this.startValues[m] = solution.getIntVal(this.startVars[m]);
+            this.stationValues[m] = solution.getIntVal(this.stationVars[m]);
+            if (this.sentVars != null) {
+                this.sentValues[m] = solution.getIntVal(this.sentVars[m]);
+            }
+        }
+        this.intensity = 1;
+    }
+
+    @Override
+    public void fixSomeVariables() throws ContradictionException {
+        Arrays.fill(this.relaxed, false);
+        // Plusieurs voisinages du même type sont cumulés quand l'intensité augmente
+        int kind = this.random.nextInt(4);
+        for (int i = 0; i < this.intensity; i++) {
+            switch (kind) {
+                case SATELLITE -> relaxSatellite();
+                case STATION -> relaxStation();
+                case TIME_SLICE -> relaxTimeSlice();
+                case CHAIN -> relaxChain();
+            }
+        }
+        for (int m = 0; m < this.windowVars.length; m++) {
+            if (this.relaxed[m])
+                continue;
+            this.windowVars[m].instantiateTo(this.windowValues[m], this);
+            this.startVars[m].instantiateTo(this.startValues[m], this);
+            if (this.sentVars != null) {
+                this.sentVars[m].instantiateTo(this.sentValues[m], this);
+            }
+        }
+    }
+
+    @Override
+    public void restrictLess() {
+        // Au-delà de quatre, le voisinage couvre pratiquement tout le problème : on repart d'un voisinage étroit
+        this.intensity = this.intensity >= 4 ? 1 : this.intensity + 1;
+    }
+
+    private void relaxSatellite() {
+        for (int m : this.satelliteFiles[this.random.nextInt(this.satelliteFiles.length)]) {
+            this.relaxed[m] = true;
+        }
+    }
+
+    private void relaxStation() {
+        int station = this.stationValues[this.random.nextInt(this.stationValues.length)];
+        for (int m = 0; m < this.stationValues.length; m++) {
+            if (this.stationValues[m] == station) {
+                this.relaxed[m] = true;
+            }
+        }
+    }
+
+    // Tranche d'un huitième de l'horizon autour de la date de début d'un fichier tiré au hasard
+    private void relaxTimeSlice() {
+        int width = Math.max(1, this.transmissionModel.getHorizon() / 8);
+        int center = this.startValues[this.random.nextInt(this.startValues.length)];
+        for (int m = 0; m < this.startValues.length; m++) {
+            if (Math.abs(this.startValues[m] - center) <= width / 2) {
+                this.relaxed[m] = true;
+            }
+        }
+    }
+
+    // Chaîne de prédécesseurs et de successeurs d'un fichier tiré au hasard
+    private void relaxChain() {
+        int pivot = this.random.nextInt(this.startValues.length);
+        if (this.relaxed[pivot])
+            return;
+        int head = 0;
+        int tail = 0;
+        this.relaxed[pivot] = true;
+        this.toVisit[tail++] = pivot;
+        while (head < tail) {
+            int m = this.toVisit[head++];
+            for (int i = this.neighbourOffset[m]; i < this.neighbourOffset[m + 1]; i++) {
+                if (!this.relaxed[this.neighbours[i]]) {
+                    this.relaxed[this.neighbours[i]] = true;
+                    this.toVisit[tail++] = this.neighbours[i];
+                }
+            }
+        }
+    }
+}
@@ -1,299 +1,241 @@
 package main;
 
 import data.satellite.*;
-import org.chocosolver.solver.Model;
-import org.chocosolver.solver.Solution;
-import org.chocosolver.solver.Solver;
-import org.chocosolver.solver.constraints.Constraint;
-import org.chocosolver.solver.variables.BoolVar;
-import org.chocosolver.solver.variables.IntVar;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
 
 public class TransmissionScheduler {
 
-    // Repère temporel commun : début de la journée du 8 février 2023.
-    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2023, 2, 8, 0, 0);
-    private static final double EFFECTIVE_RATE = 10.0;
-
+    // Usage : TransmissionScheduler [instance.json ...] [--station-capacity=points|cumulative]
+    //         [--overlap=pairwise|spans] [--window=propagator|reified] [--preprocess=true|false] [--solver=cp|greedy|lns|portfolio|lp] [--slot=N] [--max-columns=2000] [--seed=0] [--workers=N] [--warm-start=true|false]
+    //         [--search=default|load|depth|domwdeg|activity] [--restarts=none|luby|geometric] [--last-conflict] [--nogoods]
+    //         [--rolling] [--block=480] [--block-overlap=240] [--block-files=500] [--compare-monolithic] [--multi-day] [--max-days=7] [--decompose] [--threads=N] [--time-limit=60s] [--report] [--cache] [--store[=.solutions]] [--store-size=64]
+    //         [--events=events.txt [--event-time-limit=1s]]
+    //         [--metrics=metrics.jsonl] [--metrics-interval=1000] [--jmx] [--stream=solutions.jsonl]
+    //         [--batch [dossier|motif|instance.json ...] [--jobs=N] [--budget=10m] [--output=batch_results.csv|.json]]
+    //         [--generate[=instance.json] [--seed=0] [--satellites=10] [--stations=20] [--files=1000] [--windows=20]
+    //          [--predecessors=0.5] [--tightness=0.5]]
     public static void main(String[] args) throws Exception {
+        CommandLine commandLine = new CommandLine(args);
+        SolverTelemetry.configure(commandLine.get("metrics", null), commandLine.has("jmx"),
+                commandLine.getInt("metrics-interval", 1000));
+        SolutionStream.configure(commandLine.get("stream", null));
+        try {
+            run(commandLine);
+        } finally {
+            SolverTelemetry.shutdown();
+            SolutionStream.shutdown();
+        }
+    }
+
+    private static void run(CommandLine commandLine) throws Exception {
         long startTimeMillis = System.currentTimeMillis();
-        TransmissionInstance instance = Utils.fromFile("data/transmission/transmission_c.json", TransmissionInstance.class);
-        if (instance == null) {
-            System.err.println("Erreur lors de la lecture du fichier JSON.");
+        ModelOptions options = new ModelOptions()
+                .setStationCapacityMode(StationCapacityMode.fromName(commandLine.get("station-capacity", "cumulative")))
+                .setOverlapMode(OverlapMode.fromName(commandLine.get("overlap", "pairwise")))
+                .setWindowMode(WindowMode.fromName(commandLine.get("window", "propagator")))
+                .setPreprocessing(Boolean.parseBoolean(commandLine.get("preprocess", "true")))
+                .setObjectiveMode(ObjectiveMode.fromName(commandLine.get("objective", "makespan")))
+                .setUntil(commandLine.getInt("until", -1));
+
+        // Génération d'une instance synthétique, sans résolution
+        if (commandLine.has("generate")) {
+            InstanceGenerator generator = new InstanceGenerator()
+                    .setSeed(commandLine.getInt("seed", 0))
+                    .setNbSatellites(commandLine.getInt("satellites", 10))
+                    .setNbStations(commandLine.getInt("stations", 20))
+                    .setNbFiles(commandLine.getInt("files", 1000))
+                    .setNbWindowsPerSatellite(commandLine.getInt("windows", 20))
+                    .setPredecessorDensity(Double.parseDouble(commandLine.get("predecessors", "0.5")))
+                    .setTightness(Double.parseDouble(commandLine.get("tightness", "0.5")));
+            String output = commandLine.get("generate", "true");
+            if (output.equals("true")) {
+                output = "data/generated/generated_" + generator.getSeed() + "_" + generator.getNbFiles() + ".json";
+            }
+            Utils.toFile(output, generator.generate());
+            System.out.println(generator + " écrit dans " + output);
             return;
         }
 
-        Model model = new Model("Planification Téléchargement Satellite");
-
-        // Maps pour stocker les variables associées à chaque fichier traité
-        Map<String, IntVar> startVars = new HashMap<>();
-        Map<String, IntVar> endVars = new HashMap<>();
-        Map<String, IntVar> windowChoiceVars = new HashMap<>();
-        Map<String, IntVar> stationAssignedVars = new HashMap<>();
-        // Stockage des durées calculées pour chaque fichier traité
-        Map<String, Integer> durationMap = new HashMap<>();
-
-        // Table de correspondance stationId -> indice (pour la capacité des stations)
-        Station[] stations = instance.getStations();
-        Map<String, Integer> stationIndex = new HashMap<>();
-        for (int i = 0; i < stations.length; i++) {
-            stationIndex.put(stations[i].getId(), i);
+        // Mode lot : les arguments positionnels sont des dossiers, motifs ou fichiers d'instances
+        if (commandLine.has("batch")) {
+            new BatchRunner(commandLine, options).run();
+            return;
         }
 
-        // Pour la contrainte cumulative sur les satellites, on regroupe par satellite
-        Map<String, List<IntVar>> satStartMap = new HashMap<>();
-        Map<String, List<Integer>> satDurationsMap = new HashMap<>();
+        String instancePath = commandLine.getPositional(0, "data/transmission/transmission_c.json");
+        TransmissionInstance instance = loadInstance(instancePath, commandLine.has("cache"));
+        if (instance == null) {
+            System.err.println("Erreur lors de la lecture du fichier JSON.");
+            return;
+        }
 
-        // Calcul de l'horizon temporel : fin maximale d'une fenêtre sur tous les satellites
-        int horizon = 0;
-        for (Satellite sat : instance.getSatellites()) {
-            for (TransmissionWindow tw : sat.getTransmissionWindows()) {
-                int end = toMinutes(tw.getEnd());
-                if (end > horizon) {
-                    horizon = end;
+        // Rapport comparatif des variantes de formulation sur chaque instance donnée, sans résolution
+        if (commandLine.has("report")) {
+            List<ModelOptions> variants = new ArrayList<>();
+            for (StationCapacityMode stationMode : StationCapacityMode.values()) {
+                for (OverlapMode overlapMode : OverlapMode.values()) {
+                    for (WindowMode windowMode : WindowMode.values()) {
+                        variants.add(new ModelOptions().setStationCapacityMode(stationMode).setOverlapMode(overlapMode)
+                                .setWindowMode(windowMode));
+                    }
                 }
             }
+            FormulationReport.print(instance, variants, System.out);
+            for (String otherPath : commandLine.getPositionals().subList(1, commandLine.getPositionals().size())) {
+                TransmissionInstance other = loadInstance(otherPath, commandLine.has("cache"));
+                if (other != null) {
+                    FormulationReport.print(other, variants, System.out);
+                }
+            }
+            return;
         }
 
-        // Pour la capacité des stations, on utilisera une discrétisation avec un pas (ici 5 minutes)
-        int timeStep = 5;
-        // Construction d'un ensemble de points temporels pertinents
-        Set<Integer> relevantTimes = new TreeSet<>();
-        for (Satellite sat : instance.getSatellites()) {
-            for (TransmissionWindow tw : sat.getTransmissionWindows()) {
-                relevantTimes.add(toMinutes(tw.getStart()));
-                relevantTimes.add(toMinutes(tw.getEnd()));
+        ScheduleSolver scheduleSolver = buildSolver(commandLine, options, commandLine.get("time-limit", "60s"));
+        Schedule schedule = scheduleSolver.solve(instance);
+        // Pour l'objectif makespan, un planning où manquent des fichiers transmissibles n'est pas une solution
+        boolean partial = schedule != null && schedule.isPartial() && options.getObjectiveMode() == ObjectiveMode.MAKESPAN;
+        if (schedule != null) {
+            SolutionStream.publish(CompiledInstance.of(instance), schedule, scheduleSolver.getName(), true);
+            System.out.println((partial ? "Planning incomplet obtenu en " : schedule.isProvenOptimal() ? "Solution optimale trouvée en "
+                    : "Solution trouvée en ") + (System.currentTimeMillis() - startTimeMillis) + " ms (" + scheduleSolver.getName() + ")");
+            if (partial) {
+                System.out.println(schedule.getDroppedFileIds().size() + " fichier(s) transmissible(s) non planifié(s) : "
+                        + "le makespan " + schedule.getMakespan() + " n'est pas celui d'un planning complet");
+            } else if (schedule.getLowerBound() >= 0) {
+                System.out.println(String.format(Locale.ROOT, "Makespan %d, borne inférieure %d, écart %.1f %%",
+                        schedule.getMakespan(), schedule.getLowerBound(), 100 * schedule.getGap()));
             }
-            for (data.satellite.File file : sat.getFiles()) {
-                int releaseTime = toMinutes(file.getReleaseDateTime());
-                relevantTimes.add(releaseTime);
-                relevantTimes.add(Math.max(horizon, releaseTime));
-            }
-        }
-        List<Integer> filteredTimes = new ArrayList<>();
-        int lastAdded = -timeStep;
-        for (Integer t : relevantTimes) {
-            if (t - lastAdded >= timeStep) {
-                filteredTimes.add(t);
-                lastAdded = t;
+            printSchedule(instance, schedule);
+            printViolations(instance, schedule, options);
+            if (commandLine.has("events")) {
+                replayEvents(commandLine, instance, schedule, options);
             }
+        } else {
+            System.out.println("Aucune solution trouvée.");
         }
+    }
 
-        // Itération sur chaque satellite et sur chaque fichier
-        for (Satellite satellite : instance.getSatellites()) {
-            List<IntVar> satStarts = new ArrayList<>();
-            List<Integer> satDurations = new ArrayList<>();
-
-            TransmissionWindow[] windows = satellite.getTransmissionWindows();
-            for (data.satellite.File file : satellite.getFiles()) {
-                int releaseTime = toMinutes(file.getReleaseDateTime());
-                int duration = (int) Math.ceil(file.getSize() / EFFECTIVE_RATE);
-                durationMap.put(file.getId(), duration);
-
-                int fileStartUpperBound = Math.max(horizon, releaseTime);
-                IntVar start = model.intVar("start_" + file.getId(), releaseTime, fileStartUpperBound);
-                IntVar end = model.intVar("end_" + file.getId(), releaseTime + duration, fileStartUpperBound + duration);
-                model.arithm(end, "=", start, "+", duration).post();
+    // Rejoue les événements du fichier --events sur le service de replanification incrémentale, à
+    // partir du planning obtenu ; chaque mise à jour est chronométrée et vérifiée
+    private static void replayEvents(CommandLine commandLine, TransmissionInstance instance, Schedule schedule, ModelOptions options) throws IOException {
+        IncrementalScheduler incremental = new IncrementalScheduler(instance, schedule, options,
+                commandLine.get("event-time-limit", "1s"));
+        for (String line : Files.readAllLines(Paths.get(commandLine.get("events", "events.txt")))) {
+            if (line.isBlank() || line.trim().startsWith("#"))
+                continue;
+            Schedule updated = incremental.apply(line);
+            System.out.println("Événement \"" + line.trim() + "\" : planning mis à jour en " + incremental.getLastUpdateMillis()
+                    + " ms, makespan " + updated.getMakespan());
+        }
+        printSchedule(incremental.getInstance(), incremental.getPlan());
+        printViolations(incremental.getInstance(), incremental.getPlan(), options);
+    }
 
-                // Réduction du domaine de windowChoice en filtrant les fenêtres viables
-                List<Integer> viableWindowIndices = new ArrayList<>();
-                for (int i = 0; i < windows.length; i++) {
-                    int winStart = toMinutes(windows[i].getStart());
-                    int winEnd = toMinutes(windows[i].getEnd());
-                    if (Math.max(releaseTime, winStart) + duration <= winEnd) {
-                        viableWindowIndices.add(i);
-                    }
-                }
-                if (viableWindowIndices.isEmpty()) {
-                    System.err.println("Aucune fenêtre viable pour le fichier " + file.getId());
-                    // On ne traite pas ce fichier dans le modèle
-                    continue;
-                }
-                int[] viableWindowIndicesArray = viableWindowIndices.stream().mapToInt(Integer::intValue).toArray();
-                IntVar windowChoice = model.intVar("window_" + file.getId(), viableWindowIndicesArray);
-                // Association des variables créées pour ce fichier
-                startVars.put(file.getId(), start);
-                endVars.put(file.getId(), end);
-                windowChoiceVars.put(file.getId(), windowChoice);
-                satStarts.add(start);
-                satDurations.add(duration);
+    private static void printViolations(TransmissionInstance instance, Schedule schedule, ModelOptions options) {
+        List<String> violations = ScheduleValidator.validate(instance, schedule,
+                options.getObjectiveMode() == ObjectiveMode.VOLUME);
+        if (violations.isEmpty()) {
+            System.out.println("Planning vérifié : aucune contrainte violée");
+        } else {
+            System.out.println("Planning invalide : " + violations.size() + " violation(s)");
+            violations.forEach(violation -> System.out.println("  " + violation));
+        }
+    }
 
-                // Association de la fenêtre à une station via un tableau de correspondance
-                int[] windowMapping = new int[windows.length];
-                Set<Integer> possibleStations = new HashSet<>();
-                for (int i = 0; i < windows.length; i++) {
-                    int sIndex = stationIndex.get(windows[i].getStationId());
-                    windowMapping[i] = sIndex;
-                    possibleStations.add(sIndex);
-                }
-                int[] possibleStationsArray = possibleStations.stream().mapToInt(Integer::intValue).toArray();
-                IntVar stationAssigned = model.intVar("station_" + file.getId(), possibleStationsArray);
-                stationAssignedVars.put(file.getId(), stationAssigned);
-                model.element(stationAssigned, windowMapping, windowChoice).post();
+    // Solveur choisi par --solver, éventuellement enveloppé par --rolling, --multi-day puis --decompose
+    static ScheduleSolver buildSolver(CommandLine commandLine, ModelOptions options, String timeLimit) {
+        return buildSolver(commandLine, commandLine.get("solver", "cp"), options, timeLimit);
+    }
 
-                // Contraintes sur la fenêtre choisie
-                for (int i = 0; i < windows.length; i++) {
-                    TransmissionWindow tw = windows[i];
-                    int winStart = toMinutes(tw.getStart());
-                    int winEnd = toMinutes(tw.getEnd());
-                    model.ifThen(
-                        model.arithm(windowChoice, "=", i),
-                        model.and(
-                            model.arithm(start, ">=", winStart),
-                            model.arithm(end, "<=", winEnd)
-                        )
-                    );
-                }
-            }
-            satStartMap.put(satellite.getId(), satStarts);
-            satDurationsMap.put(satellite.getId(), satDurations);
+    static ScheduleSolver buildSolver(CommandLine commandLine, String solverName, ModelOptions options, String timeLimit) {
+        SearchOptions search = new SearchOptions()
+                .setStrategy(SearchStrategy.fromName(commandLine.get("search", "default")))
+                .setRestarts(commandLine.get("restarts", "none"))
+                .setLastConflict(commandLine.has("last-conflict"))
+                .setNogoods(commandLine.has("nogoods"));
+        // Magasin de plannings : --store seul désigne le dossier .solutions
+        SolutionStore store = null;
+        if (commandLine.has("store")) {
+            String directory = commandLine.get("store", "true");
+            store = new SolutionStore(Paths.get(directory.equals("true") ? ".solutions" : directory),
+                    commandLine.getInt("store-size", 64) * 1024L * 1024L);
+        }
+        ScheduleSolver scheduleSolver = switch (solverName) {
+            case "greedy" -> new GreedyScheduler();
+            case "cp" -> new ChocoScheduler(options, timeLimit,
+                    Boolean.parseBoolean(commandLine.get("warm-start", "true")), search).setStore(store);
+            case "lp" -> new TimeIndexedScheduler(timeLimit, commandLine.getInt("slot", 0), commandLine.getInt("max-columns", 2000));
+            case "lns" -> new LnsScheduler(options, timeLimit, commandLine.getInt("seed", 0), search);
+            case "portfolio" -> new PortfolioScheduler(options, timeLimit,
+                    commandLine.getInt("workers", Runtime.getRuntime().availableProcessors()),
+                    Boolean.parseBoolean(commandLine.get("warm-start", "true")));
+            default -> throw new IllegalArgumentException("Solveur inconnu : " + solverName);
+        };
+        if (commandLine.has("rolling")) {
+            scheduleSolver = new RollingHorizonScheduler(scheduleSolver, commandLine.getInt("block", 480),
+                    commandLine.getInt("block-overlap", 240), commandLine.getInt("block-files", 500))
+                    .setCompareMonolithic(commandLine.has("compare-monolithic"));
         }
+        if (commandLine.has("multi-day")) {
+            scheduleSolver = new MultiDayScheduler(scheduleSolver, commandLine.getInt("max-days", 7));
+        }
+        if (commandLine.has("decompose")) {
+            scheduleSolver = new DecomposedScheduler(scheduleSolver,
+                    commandLine.getInt("threads", Runtime.getRuntime().availableProcessors()));
+        }
+        return scheduleSolver;
+    }
 
-        // Contraintes de précédence (on ne traite que les fichiers ayant été ajoutés)
-        for (Satellite satellite : instance.getSatellites()) {
-            for (data.satellite.File file : satellite.getFiles()) {
-                if (!startVars.containsKey(file.getId()))
-                    continue;
-                String[] preds = file.getPredecessors();
-                if (preds != null) {
-                    for (String predId : preds) {
-                        if (endVars.containsKey(predId)) {
-                            model.arithm(startVars.get(file.getId()), ">=", endVars.get(predId)).post();
-                        } else {
-                            System.err.println("Prédécesseur non trouvé pour " + file.getId() + " : " + predId);
-                        }
-                    }
-                }
-            }
+    // Lecture en flux vers la forme compilée (avec cache binaire si demandé), puis reconstruction des objets
+    private static TransmissionInstance loadInstance(String path, boolean useCache) {
+        long loadStart = System.currentTimeMillis();
+        CompiledInstance compiled = InstanceLoader.load(path, useCache);
+        if (compiled == null) {
+            return null;
         }
+        TransmissionInstance instance = compiled.getInstance();
+        System.out.println("Instance " + instance.getId() + " chargée en " + (System.currentTimeMillis() - loadStart) + " ms");
+        return instance;
+    }
 
-        // Contrainte de chevauchement sur un même satellite
+    // Le planning est composé dans un seul tampon puis écrit d'un bloc, sans concaténation par fichier ;
+    // les horaires de chaque fenêtre ne sont formatés qu'une fois
+    static void printSchedule(TransmissionInstance instance, Schedule schedule) {
+        StringBuilder out = new StringBuilder();
+        CompiledInstance compiled = CompiledInstance.of(instance);
+        out.append("Durée totale du planning (makespan) : ").append(schedule.getMakespan()).append(" minutes\n");
+        out.append("Volume téléchargé : ").append(schedule.getVolume(compiled)).append(" Mo sur ")
+                .append(Arrays.stream(compiled.getSize()).asLongStream().sum()).append(" Mo\n");
         for (Satellite satellite : instance.getSatellites()) {
+            TransmissionWindow[] windows = satellite.getTransmissionWindows();
+            String[] windowTimes = new String[windows.length];
             for (data.satellite.File file : satellite.getFiles()) {
-                if (!startVars.containsKey(file.getId()))
-                    continue;
-            }
-            data.satellite.File[] files = satellite.getFiles();
-            for (int i = 0; i < files.length; i++) {
-                if (!startVars.containsKey(files[i].getId()))
+                ScheduledTransmission transmission = schedule.get(file.getId());
+                if (transmission == null)
                     continue;
-                for (int j = i + 1; j < files.length; j++) {
-                    if (!startVars.containsKey(files[j].getId()))
-                        continue;
-                    IntVar start1 = startVars.get(files[i].getId());
-                    IntVar end1 = endVars.get(files[i].getId());
-                    IntVar start2 = startVars.get(files[j].getId());
-                    IntVar end2 = endVars.get(files[j].getId());
-                    IntVar windowChoice1 = windowChoiceVars.get(files[i].getId());
-                    IntVar windowChoice2 = windowChoiceVars.get(files[j].getId());
-                    
-                    BoolVar overlap = model.boolVar("overlap_" + files[i].getId() + "_" + files[j].getId());
-                    model.and(
-                        model.arithm(start1, "<", end2),
-                        model.arithm(start2, "<", end1)
-                    ).reifyWith(overlap);
-                    
-                    model.ifThen(
-                        model.arithm(overlap, "=", 1),
-                        model.arithm(windowChoice1, "=", windowChoice2)
-                    );
+                int w = transmission.getWindowIndex();
+                if (windowTimes[w] == null) {
+                    windowTimes[w] = toTimeString(windows[w].getStart()) + " - " + toTimeString(windows[w].getEnd()) + ")\n";
                 }
-            }
-        }
-
-        // Contrainte cumulative pour la capacité des satellites
-        for (Satellite satellite : instance.getSatellites()) {
-            List<IntVar> startsList = satStartMap.get(satellite.getId());
-            List<Integer> durationsList = satDurationsMap.get(satellite.getId());
-            if (!startsList.isEmpty()) {
-                IntVar[] startsArr = startsList.toArray(new IntVar[0]);
-                int[] durationsArr = durationsList.stream().mapToInt(Integer::intValue).toArray();
-                int[] heights = new int[durationsArr.length];
-                Arrays.fill(heights, 1);
-                model.cumulative(startsArr, durationsArr, heights, satellite.getNbTransmissionChannels());
-            }
-        }
-
-        // Contrainte de capacité des stations (en utilisant filteredTimes)
-        for (int s = 0; s < stations.length; s++) {
-            int stationCapacity = stations[s].getNbChannels();
-            for (Integer t : filteredTimes) {
-                List<BoolVar> indicators = new ArrayList<>();
-                for (Satellite satellite : instance.getSatellites()) {
-                    for (data.satellite.File file : satellite.getFiles()) {
-                        if (!startVars.containsKey(file.getId()))
-                            continue;
-                        IntVar start = startVars.get(file.getId());
-                        IntVar end = endVars.get(file.getId());
-                        IntVar stationAssigned = stationAssignedVars.get(file.getId());
-                        BoolVar cond1 = model.boolVar();
-                        model.arithm(start, "<=", t).reifyWith(cond1);
-                        BoolVar cond2 = model.boolVar();
-                        model.arithm(end, ">", t).reifyWith(cond2);
-                        BoolVar cond3 = model.boolVar();
-                        model.arithm(stationAssigned, "=", s).reifyWith(cond3);
-                        BoolVar active = model.boolVar();
-                        model.and(cond1, cond2, cond3).reifyWith(active);
-                        indicators.add(active);
-                    }
-                }
-                if (!indicators.isEmpty()) {
-                    model.sum(indicators.toArray(new BoolVar[0]), "<=", stationCapacity).post();
+                out.append("Fichier ").append(file.getId()).append(" : démarrage à ").append(transmission.getStart())
+                        .append(" minutes, fin à ").append(transmission.getEnd())
+                        .append(" minutes, via la fenêtre (").append(windows[w].getStationId())
+                        .append(" [").append(transmission.getStationId()).append("] : ");
+                if (transmission.getDay() > 0) {
+                    out.append("J+").append(transmission.getDay()).append(' ');
                 }
+                out.append(windowTimes[w]);
             }
         }
-
-        // Fonction objective : minimiser le makespan (maximum de tous les temps de fin)
-        Collection<IntVar> allEnds = endVars.values();
-        int maxDuration = Collections.max(durationMap.values());
-        IntVar makespan = model.intVar("makespan", 0, horizon + maxDuration);
-        model.max(makespan, allEnds.toArray(new IntVar[0])).post();
-        model.setObjective(Model.MINIMIZE, makespan);
-
-        // Limitation du temps de résolution
-        Solver solver = model.getSolver();
-        solver.limitTime("60s");
-
-        // Recherche de la solution optimale
-        Solution solution = solver.findOptimalSolution(makespan, true);
-        if (solution != null) {
-            System.out.println("Solution optimale trouvée en " + (System.currentTimeMillis() - startTimeMillis) + " ms");
-            System.out.println("Durée totale du planning (makespan) : " + solution.getIntVal(makespan) + " minutes");
-            for (Satellite satellite : instance.getSatellites()) {
-                for (data.satellite.File file : satellite.getFiles()) {
-                    if (!startVars.containsKey(file.getId()))
-                        continue;
-                    IntVar start = startVars.get(file.getId());
-                    IntVar end = endVars.get(file.getId());
-                    IntVar windowChoice = windowChoiceVars.get(file.getId());
-                    IntVar stationAssigned = stationAssignedVars.get(file.getId());
-                    TransmissionWindow[] windows = satellite.getTransmissionWindows();
-                    int chosenWindowIndex = solution.getIntVal(windowChoice);
-                    TransmissionWindow chosenWindow = windows[chosenWindowIndex];
-                    String stationName = "";
-                    for (Station st : stations) {
-                        if (stationIndex.get(st.getId()) == solution.getIntVal(stationAssigned)) {
-                            stationName = st.getId();
-                            break;
-                        }
-                    }
-                    System.out.println("Fichier " + file.getId() + " : démarrage à " + solution.getIntVal(start) +
-                        " minutes, fin à " + solution.getIntVal(end) +
-                        " minutes, via la fenêtre (" + chosenWindow.getStationId() + " [" + stationName + "] : " +
-                        toTimeString(chosenWindow.getStart()) + " - " + toTimeString(chosenWindow.getEnd()) + ")");
-                }
-            }
-        } else {
-            System.out.println("Aucune solution trouvée.");
+        if (!schedule.getUnscheduledFileIds().isEmpty()) {
+            out.append("Fichiers non planifiés : ").append(schedule.getUnscheduledFileIds()).append('\n');
         }
-    }
-
-    // Convertit un LocalDateTime en minutes écoulées depuis BASE_TIME.
-    private static int toMinutes(LocalDateTime dt) {
-        return (int) ChronoUnit.MINUTES.between(BASE_TIME, dt);
+        System.out.print(out);
     }
 
     // Formate un LocalDateTime au format HH:mm.
@@ -4,11 +4,15 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.Random;
 
 public class Utils {
+    // ObjectMapper partagé : sa construction (recherche des modules) est coûteuse et il est thread-safe
+    static final ObjectMapper MAPPER = JsonMapper.builder()
+            .findAndAddModules()
+            .build();
+
     public static int generateNonZeroInteger(Random rnd, int bound) {
         int res;
         do {
@@ -18,11 +22,8 @@ public class Utils {
     }
 
     public static <T> T fromFile(String path, Class<T> valueType) {
-        ObjectMapper mapper = JsonMapper.builder()
-                .findAndAddModules()
-                .build();
         try {
-            return mapper.readValue(new File(path), valueType);
+            return MAPPER.readValue(new File(path), valueType);
         } catch (IOException e) {
             e.printStackTrace();
             return null;
@@ -30,18 +31,13 @@ public class Utils {
     }
 
     public static void toFile(String path, Object toWrite) {
-        ObjectMapper mapper = JsonMapper.builder()
-                .findAndAddModules()
-                .build();
         try {
             File f = new File(path);
-            if (!f.getParentFile().exists()) {
+            if (f.getParentFile() != null && !f.getParentFile().exists()) {
                 f.getParentFile().mkdirs();
             }
-            String s = mapper.writerWithDefaultPrettyPrinter().writeValueAsString(toWrite);
-            FileWriter fw = new FileWriter(path);
-            fw.write(s);
-            fw.close();
+            // Écriture en flux : les grandes instances générées ne passent pas par une chaîne intermédiaire
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(f, toWrite);
         } catch (IOException e1) {
             e1.printStackTrace();
         }
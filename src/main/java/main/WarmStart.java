@@ -0,0 +1,55 @@
+package main;
+
+import org.chocosolver.solver.variables.IntVar;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Démarrage à chaud du modèle Choco à partir d'un planning existant : son makespan devient
+// la borne supérieure initiale (son volume la borne inférieure pour l'objectif volume) et ses
+// valeurs sont essayées en premier lors du branchement.
+public class WarmStart {
+
+    public static void apply(TransmissionModel transmissionModel, Schedule schedule) {
+        apply(transmissionModel, schedule, new SearchOptions());
+    }
+
+    // Même démarrage à chaud, les valeurs du planning guidant la stratégie de recherche donnée
+    public static void apply(TransmissionModel transmissionModel, Schedule schedule, SearchOptions search) {
+        applyUpperBound(transmissionModel, schedule);
+        search.apply(transmissionModel, hints(transmissionModel, schedule));
+    }
+
+    // Seules les valeurs du planning sont reprises comme premier choix de branchement ; les fichiers
+    // absents du planning sont branchés sur leur plus petite valeur
+    public static void applyHints(TransmissionModel transmissionModel, Schedule schedule) {
+        new SearchOptions().apply(transmissionModel, hints(transmissionModel, schedule));
+    }
+
+    // Fenêtre et début de chaque fichier traité présent dans le planning ; pour l'objectif volume,
+    // transmission des fichiers présents et non-transmission des autres
+    public static Map<IntVar, Integer> hints(TransmissionModel transmissionModel, Schedule schedule) {
+        Map<IntVar, Integer> hints = new HashMap<>();
+        for (int f : transmissionModel.getModelledFiles()) {
+            ScheduledTransmission transmission = schedule.get(transmissionModel.getCompiled().getFileId(f));
+            if (transmission != null) {
+                hints.put(transmissionModel.getWindowChoiceVar(f), transmission.getWindowIndex());
+                hints.put(transmissionModel.getStartVar(f), transmission.getStart());
+            }
+            if (transmissionModel.getSentVar(f) != null) {
+                hints.put(transmissionModel.getSentVar(f), transmission != null ? 1 : 0);
+            }
+        }
+        return hints;
+    }
+
+    // Seule la borne supérieure est reprise : la stratégie de recherche du modèle est conservée
+    public static void applyUpperBound(TransmissionModel transmissionModel, Schedule schedule) {
+        if (transmissionModel.isMaximizing()) {
+            int volume = (int) schedule.getVolume(transmissionModel.getCompiled());
+            transmissionModel.getModel().arithm(transmissionModel.getVolume(), ">=", volume).post();
+            return;
+        }
+        transmissionModel.getModel().arithm(transmissionModel.getMakespan(), "<=", schedule.getMakespan()).post();
+    }
+}
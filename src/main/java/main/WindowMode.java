@@ -0,0 +1,29 @@
+package main;
+
+// Encodage de la contrainte "un fichier tient dans la fenêtre choisie".
+public enum WindowMode {
+    // Un ifThen réifié par (fichier, fenêtre possible) sur les bornes de début et de fin
+    REIFIED("reified"),
+    // Un propagateur dédié par fichier (PropFileInWindow), qui filtre la date de début sur l'union
+    // des plages compatibles avec les fenêtres restantes et retire les fenêtres devenues impossibles
+    PROPAGATOR("propagator");
+
+    private final String name;
+
+    WindowMode(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public static WindowMode fromName(String name) {
+        for (WindowMode mode : values()) {
+            if (mode.name.equalsIgnoreCase(name)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Mode de fenêtre inconnu : " + name);
+    }
+}
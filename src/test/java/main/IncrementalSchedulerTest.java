@@ -0,0 +1,80 @@
+package main;
+
+import data.satellite.*;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalSchedulerTest {
+
+    private static TransmissionInstance load(String path) {
+        return InstanceLoader.load(path, false).getInstance();
+    }
+
+    private static data.satellite.File find(TransmissionInstance instance, String fileId) {
+        for (Satellite satellite : instance.getSatellites()) {
+            for (data.satellite.File file : satellite.getFiles()) {
+                if (file.getId().equals(fileId)) {
+                    return file;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Chaque événement de transmission_h.events est traité en moins d'une seconde et laisse un planning valide
+    @Test
+    void replaysEventsOnTransmissionHUnderOneSecond() throws Exception {
+        TransmissionInstance instance = load("data/transmission/transmission_h.json");
+        Schedule initial = new GreedyScheduler().solve(instance);
+        IncrementalScheduler incremental = new IncrementalScheduler(instance, initial, new ModelOptions(), "1s");
+        for (String line : Files.readAllLines(Paths.get("data/transmission/transmission_h.events"))) {
+            if (line.isBlank() || line.startsWith("#"))
+                continue;
+            incremental.apply(line);
+            assertTrue(incremental.getLastUpdateMillis() < 1000, line + " : " + incremental.getLastUpdateMillis() + " ms");
+            assertEquals(List.of(), ScheduleValidator.validate(incremental.getInstance(), incremental.getPlan()), line);
+        }
+        assertNotNull(incremental.getPlan().get("File_100"));
+        assertNull(incremental.getPlan().get("File_3"));
+    }
+
+    // L'annulation retire le fichier des prédécesseurs dans la copie du service, pas dans l'instance de l'appelant
+    @Test
+    void cancelDoesNotMutateCallerFiles() {
+        TransmissionInstance instance = load("data/transmission/transmission_h.json");
+        data.satellite.File successor = find(instance, "File_4");
+        String[] predecessors = successor.getPredecessors();
+        String[] before = predecessors.clone();
+        IncrementalScheduler incremental = new IncrementalScheduler(instance, new GreedyScheduler().solve(instance), new ModelOptions(), "1s");
+        incremental.cancelFile("File_3", 0);
+
+        assertSame(predecessors, successor.getPredecessors());
+        assertArrayEquals(before, successor.getPredecessors());
+        assertFalse(Arrays.asList(find(incremental.getInstance(), "File_4").getPredecessors()).contains("File_3"));
+        assertNull(find(incremental.getInstance(), "File_3"));
+        assertNotNull(find(instance, "File_3"));
+    }
+
+    // Une fenêtre perdue n'est plus utilisée après l'instant de la perte, sans reconstruire le modèle
+    @Test
+    void lostWindowIsNotUsedAfterwards() {
+        TransmissionInstance instance = load("data/transmission/transmission_h.json");
+        IncrementalScheduler incremental = new IncrementalScheduler(instance, new GreedyScheduler().solve(instance), new ModelOptions(), "1s");
+        incremental.windowLost("Satellite_2", 0, 600);
+        incremental.windowLost("Satellite_2", 1, 0);
+        for (ScheduledTransmission transmission : incremental.getPlan().getTransmissions()) {
+            if (transmission.getSatelliteId().equals("Satellite_2") && transmission.getWindowIndex() == 0) {
+                assertTrue(transmission.getEnd() <= 600, transmission.getFileId());
+            }
+            if (transmission.getSatelliteId().equals("Satellite_2")) {
+                assertNotEquals(1, transmission.getWindowIndex(), transmission.getFileId());
+            }
+        }
+        assertEquals(List.of(), ScheduleValidator.validate(incremental.getInstance(), incremental.getPlan()));
+    }
+}
@@ -0,0 +1,72 @@
+package main;
+
+import data.satellite.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstanceDecomposerTest {
+
+    private static Satellite satellite(String id, String[] stationIds, data.satellite.File... files) {
+        TransmissionWindow[] windows = new TransmissionWindow[stationIds.length];
+        for (int w = 0; w < stationIds.length; w++) {
+            windows[w] = new TransmissionWindow(id, stationIds[w], TransmissionModel.BASE_TIME.plusMinutes(60 * w),
+                    TransmissionModel.BASE_TIME.plusMinutes(60 * w + 30));
+        }
+        return new Satellite(id, 1, files, windows);
+    }
+
+    private static data.satellite.File file(String id, String... predecessors) {
+        return new data.satellite.File(id, 10, TransmissionModel.BASE_TIME, predecessors);
+    }
+
+    private static List<String> ids(Satellite[] satellites) {
+        return Arrays.stream(satellites).map(Satellite::getId).toList();
+    }
+
+    private static List<String> ids(Station[] stations) {
+        return Arrays.stream(stations).map(Station::getId).toList();
+    }
+
+    // S1 et S2 partagent une station, S3 dépend d'un fichier de S4, S5 est isolé
+    @Test
+    void groupsSatellitesBySharedStationsAndPredecessors() {
+        Station[] stations = {new Station("A", 1), new Station("B", 1), new Station("C", 1), new Station("D", 1)};
+        Satellite[] satellites = {
+                satellite("S1", new String[]{"A"}, file("f1")),
+                satellite("S2", new String[]{"A"}, file("f2")),
+                satellite("S3", new String[]{"B"}, file("f3", "f4")),
+                satellite("S4", new String[]{"C"}, file("f4")),
+                satellite("S5", new String[]{"D"}, file("f5"))
+        };
+        List<TransmissionInstance> components = InstanceDecomposer.decompose(new TransmissionInstance("test", stations, satellites));
+
+        assertEquals(3, components.size());
+        assertEquals(List.of("S1", "S2"), ids(components.get(0).getSatellites()));
+        assertEquals(List.of("A"), ids(components.get(0).getStations()));
+        assertEquals(List.of("S3", "S4"), ids(components.get(1).getSatellites()));
+        assertEquals(List.of("B", "C"), ids(components.get(1).getStations()));
+        assertEquals(List.of("S5"), ids(components.get(2).getSatellites()));
+        assertEquals(List.of("D"), ids(components.get(2).getStations()));
+        assertEquals("test#2", components.get(2).getId());
+    }
+
+    // Chaque satellite d'une instance réelle se retrouve dans exactement une composante, avec les stations de ses fenêtres
+    @Test
+    void partitionsSampleInstance() {
+        TransmissionInstance instance = InstanceLoader.load("data/transmission/transmission_h.json", false).getInstance();
+        Set<String> seen = new HashSet<>();
+        for (TransmissionInstance component : InstanceDecomposer.decompose(instance)) {
+            Set<String> stationIds = new HashSet<>(ids(component.getStations()));
+            for (Satellite satellite : component.getSatellites()) {
+                assertTrue(seen.add(satellite.getId()), satellite.getId());
+                for (TransmissionWindow window : satellite.getTransmissionWindows()) {
+                    assertTrue(stationIds.contains(window.getStationId()), window.toString());
+                }
+            }
+        }
+        assertEquals(new HashSet<>(ids(instance.getSatellites())), seen);
+    }
+}
@@ -0,0 +1,78 @@
+package main;
+
+import data.satellite.*;
+import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.Solver;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LowerBoundsTest {
+
+    // Les bornes ne dépassent jamais le makespan d'un planning complet valide
+    @Test
+    void boundsNeverExceedCompleteSchedules() {
+        for (TransmissionInstance instance : PreprocessingTest.instances()) {
+            CompiledInstance compiled = CompiledInstance.compile(instance);
+            LowerBounds bounds = LowerBounds.of(compiled);
+            Schedule schedule = new GreedyScheduler().solve(compiled);
+            if (schedule.isPartial())
+                continue;
+            assertFalse(bounds.isInfeasible(), instance.getId());
+            assertTrue(bounds.getBound() <= schedule.getMakespan(), instance.getId() + " : " + bounds + " pour " + schedule.getMakespan());
+        }
+    }
+
+    // Comparaison à l'optimum prouvé du modèle construit sans prétraitement, donc sans les bornes,
+    // sur de petites instances générées
+    @Test
+    void boundsNeverExceedOptimumWithoutPreprocessing() {
+        for (int seed = 1; seed <= 8; seed++) {
+            TransmissionInstance instance = new InstanceGenerator().setSeed(seed).setNbSatellites(2).setNbStations(3).setNbFiles(8)
+                    .setNbWindowsPerSatellite(4).setPredecessorDensity(1).setTightness(0.5).generate();
+            TransmissionModel transmissionModel = new TransmissionModel(instance, new ModelOptions().setPreprocessing(false));
+            Solver solver = transmissionModel.getModel().getSolver();
+            solver.limitTime("10s");
+            Solution solution = solver.findOptimalSolution(transmissionModel.getObjective(), false);
+            assertNotNull(solution, instance.getId());
+            assertTrue(solver.isObjectiveOptimal(), instance.getId());
+            int optimum = solution.getIntVal(transmissionModel.getMakespan());
+            LowerBounds bounds = LowerBounds.of(CompiledInstance.compile(instance));
+            assertTrue(bounds.getBound() <= optimum, instance.getId() + " : " + bounds + " pour " + optimum);
+        }
+    }
+
+    // Trois fichiers indépendants de 10 minutes, disponibles dès 0, dans une fenêtre [60, 120]
+    private static CompiledInstance threeFiles(int satelliteChannels, int stationChannels, int windowEnd) {
+        data.satellite.File[] files = new data.satellite.File[3];
+        for (int i = 0; i < files.length; i++) {
+            files[i] = new data.satellite.File("F" + i, 100, TransmissionModel.BASE_TIME, new String[0]);
+        }
+        TransmissionWindow[] windows = {new TransmissionWindow("Sat", "Station", TransmissionModel.BASE_TIME.plusMinutes(60),
+                TransmissionModel.BASE_TIME.plusMinutes(windowEnd))};
+        Satellite satellite = new Satellite("Sat", satelliteChannels, 10, files, windows);
+        return CompiledInstance.compile(new TransmissionInstance("three", new Station[]{new Station("Station", stationChannels, 10)},
+                new Satellite[]{satellite}));
+    }
+
+    @Test
+    void energeticBoundsOnSingleWindow() {
+        LowerBounds sequential = LowerBounds.of(threeFiles(1, 2, 120));
+        assertEquals(70, sequential.getPathBound());
+        assertEquals(90, sequential.getSatelliteBound());
+        assertEquals(90, sequential.getBound());
+
+        LowerBounds stationLimited = LowerBounds.of(threeFiles(2, 1, 120));
+        assertEquals(90, stationLimited.getSatelliteBound());
+        assertEquals(90, stationLimited.getStationBound());
+
+        LowerBounds parallel = LowerBounds.of(threeFiles(2, 2, 120));
+        assertEquals(75, parallel.getBound());
+    }
+
+    @Test
+    void detectsWindowsTooShortForAllFiles() {
+        assertTrue(LowerBounds.of(threeFiles(1, 1, 85)).isInfeasible());
+        assertFalse(LowerBounds.of(threeFiles(1, 1, 90)).isInfeasible());
+    }
+}
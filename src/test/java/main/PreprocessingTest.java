@@ -0,0 +1,81 @@
+package main;
+
+import data.satellite.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PreprocessingTest {
+
+    static List<TransmissionInstance> instances() {
+        List<TransmissionInstance> instances = new ArrayList<>();
+        for (String name : new String[]{"a", "b", "c", "d", "e", "f", "g", "h"}) {
+            instances.add(InstanceLoader.load("data/transmission/transmission_" + name + ".json", false).getInstance());
+        }
+        for (int seed = 0; seed < 3; seed++) {
+            instances.add(new InstanceGenerator().setSeed(seed).setNbSatellites(3).setNbStations(4).setNbFiles(40)
+                    .setNbWindowsPerSatellite(6).setPredecessorDensity(1).setTightness(0.6).generate());
+        }
+        return instances;
+    }
+
+    // Aucune réduction n'exclut une solution : chaque transmission d'un planning valide respecte les
+    // fenêtres retenues et les bornes de début, et son makespan respecte la borne du plus long chemin
+    @Test
+    void reductionsKeepValidSchedules() {
+        for (TransmissionInstance instance : instances()) {
+            CompiledInstance compiled = CompiledInstance.compile(instance);
+            Preprocessing preprocessing = Preprocessing.of(compiled);
+            Schedule schedule = new GreedyScheduler().solve(compiled);
+            assertEquals(List.of(), ScheduleValidator.validate(instance, schedule), instance.getId());
+            for (ScheduledTransmission transmission : schedule.getTransmissions()) {
+                int f = compiled.indexOfFile(transmission.getFileId());
+                String context = instance.getId() + " " + transmission.getFileId();
+                assertTrue(preprocessing.isModelled(f), context);
+                assertTrue(Arrays.binarySearch(preprocessing.getWindows(f), transmission.getWindowIndex()) >= 0, context);
+                assertTrue(preprocessing.getEarliestStart(f) <= transmission.getStart(), context);
+                assertTrue(transmission.getStart() <= preprocessing.getLatestStart(f), context);
+            }
+            if (!schedule.isPartial()) {
+                assertTrue(preprocessing.getMakespanLowerBound() <= schedule.getMakespan(), instance.getId());
+            }
+        }
+    }
+
+    private static TransmissionInstance chain(String[] predecessorsOfA) {
+        data.satellite.File a = new data.satellite.File("A", 100, TransmissionModel.BASE_TIME, predecessorsOfA);
+        data.satellite.File b = new data.satellite.File("B", 100, TransmissionModel.BASE_TIME, new String[]{"A"});
+        TransmissionWindow[] windows = {
+                new TransmissionWindow("Sat", "Station", TransmissionModel.BASE_TIME.plusMinutes(60), TransmissionModel.BASE_TIME.plusMinutes(120)),
+                new TransmissionWindow("Sat", "Station", TransmissionModel.BASE_TIME.plusMinutes(200), TransmissionModel.BASE_TIME.plusMinutes(205))
+        };
+        Satellite satellite = new Satellite("Sat", 1, 10, new data.satellite.File[]{a, b}, windows);
+        return new TransmissionInstance("chain", new Station[]{new Station("Station", 1, 10)}, new Satellite[]{satellite});
+    }
+
+    // A puis B, 10 minutes chacun : B ne peut débuter qu'à la fin de A, et la fenêtre de 5 minutes est élaguée
+    @Test
+    void propagatesAlongPredecessorChain() {
+        CompiledInstance compiled = CompiledInstance.compile(chain(new String[0]));
+        Preprocessing preprocessing = Preprocessing.of(compiled);
+        int a = compiled.indexOfFile("A");
+        int b = compiled.indexOfFile("B");
+
+        assertEquals(60, preprocessing.getEarliestStart(a));
+        assertEquals(70, preprocessing.getEarliestStart(b));
+        assertEquals(100, preprocessing.getLatestStart(a));
+        assertEquals(110, preprocessing.getLatestStart(b));
+        assertArrayEquals(new int[]{0}, preprocessing.getWindows(b));
+        assertEquals(80, preprocessing.getMakespanLowerBound());
+        assertTrue(preprocessing.getCycleFiles().isEmpty());
+    }
+
+    @Test
+    void reportsPredecessorCycles() {
+        CompiledInstance compiled = CompiledInstance.compile(chain(new String[]{"B"}));
+        Preprocessing preprocessing = Preprocessing.of(compiled);
+        assertFalse(preprocessing.getCycleFiles().isEmpty());
+    }
+}
@@ -0,0 +1,88 @@
+package main;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.ESat;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PropFileInWindowTest {
+    // Plages de début des trois fenêtres : [10, 20], [30, 40] et [35, 50]
+    private static final int[] MIN_START = {10, 30, 35};
+    private static final int[] MAX_START = {20, 40, 50};
+
+    private final Model model = new Model();
+
+    private PropFileInWindow post(IntVar start, IntVar windowChoice) {
+        PropFileInWindow propagator = new PropFileInWindow(start, windowChoice, MIN_START, MAX_START);
+        this.model.post(new Constraint("FileInWindow", propagator));
+        return propagator;
+    }
+
+    // start est restreint à l'union des plages, trou entre les fenêtres compris
+    @Test
+    void restrictsStartToUnionOfRanges() throws ContradictionException {
+        IntVar start = this.model.intVar("start", 0, 100);
+        IntVar windowChoice = this.model.intVar("window", 0, 2);
+        post(start, windowChoice);
+        this.model.getSolver().propagate();
+
+        assertEquals(10, start.getLB());
+        assertEquals(50, start.getUB());
+        assertFalse(start.contains(25));
+        assertTrue(start.contains(20));
+        assertTrue(start.contains(30));
+        assertEquals(3, windowChoice.getDomainSize());
+    }
+
+    // Une fenêtre dont la plage ne contient plus aucune valeur de start est retirée
+    @Test
+    void removesWindowsWithoutSupport() throws ContradictionException {
+        IntVar start = this.model.intVar("start", 15, 32);
+        IntVar windowChoice = this.model.intVar("window", 0, 2);
+        post(start, windowChoice);
+        this.model.getSolver().propagate();
+
+        assertTrue(windowChoice.contains(0));
+        assertTrue(windowChoice.contains(1));
+        assertFalse(windowChoice.contains(2));
+        assertFalse(start.contains(25));
+    }
+
+    @Test
+    void failsWhenNoWindowFits() {
+        IntVar start = this.model.intVar("start", 0, 5);
+        IntVar windowChoice = this.model.intVar("window", 0, 2);
+        post(start, windowChoice);
+        assertThrows(ContradictionException.class, () -> this.model.getSolver().propagate());
+    }
+
+    @Test
+    void entailment() {
+        IntVar start = this.model.intVar("start", 15);
+        IntVar window = this.model.intVar("window", 0, 1);
+        assertEquals(ESat.TRUE, new PropFileInWindow(start, this.model.intVar(0), MIN_START, MAX_START).isEntailed());
+        assertEquals(ESat.UNDEFINED, new PropFileInWindow(this.model.intVar(15, 30), window, MIN_START, MAX_START).isEntailed());
+        assertEquals(ESat.TRUE, new PropFileInWindow(this.model.intVar(36, 40), this.model.intVar(1, 2), MIN_START, MAX_START).isEntailed());
+        assertEquals(ESat.FALSE, new PropFileInWindow(this.model.intVar(0, 5), window, MIN_START, MAX_START).isEntailed());
+        assertEquals(ESat.FALSE, new PropFileInWindow(start, this.model.intVar(2), MIN_START, MAX_START).isEntailed());
+    }
+
+    // Les solutions sont exactement les couples (start, fenêtre) où start est dans la plage de la fenêtre
+    @Test
+    void solutionsMatchWindowRanges() {
+        IntVar start = this.model.intVar("start", 0, 60);
+        IntVar windowChoice = this.model.intVar("window", 0, 2);
+        post(start, windowChoice);
+        int count = 0;
+        while (this.model.getSolver().solve()) {
+            int w = windowChoice.getValue();
+            assertTrue(MIN_START[w] <= start.getValue() && start.getValue() <= MAX_START[w], start + " " + windowChoice);
+            count++;
+        }
+        assertEquals(11 + 11 + 16, count);
+    }
+}
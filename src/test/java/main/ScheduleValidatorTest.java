@@ -0,0 +1,91 @@
+package main;
+
+import data.satellite.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleValidatorTest {
+
+    // Débit de 10 Mo par minute : un fichier de 100 Mo dure 10 minutes.
+    // Fenêtres W0 (Station_1) et W1 (Station_2) de 60 à 120 ; B succède à A, C est disponible à 70.
+    private static TransmissionInstance instance(int satelliteChannels, int sizeA) {
+        data.satellite.File a = new data.satellite.File("A", sizeA, TransmissionModel.BASE_TIME, new String[0]);
+        data.satellite.File b = new data.satellite.File("B", 50, TransmissionModel.BASE_TIME, new String[]{"A"});
+        data.satellite.File c = new data.satellite.File("C", 100, TransmissionModel.BASE_TIME.plusMinutes(70), new String[0]);
+        TransmissionWindow[] windows = {
+                new TransmissionWindow("Sat", "Station_1", TransmissionModel.BASE_TIME.plusMinutes(60), TransmissionModel.BASE_TIME.plusMinutes(120)),
+                new TransmissionWindow("Sat", "Station_2", TransmissionModel.BASE_TIME.plusMinutes(60), TransmissionModel.BASE_TIME.plusMinutes(120))
+        };
+        Satellite satellite = new Satellite("Sat", satelliteChannels, 10, new data.satellite.File[]{a, b, c}, windows);
+        return new TransmissionInstance("test", new Station[]{new Station("Station_1", 1, 10), new Station("Station_2", 1, 10)},
+                new Satellite[]{satellite});
+    }
+
+    private static ScheduledTransmission at(String fileId, int window, int start, int end) {
+        return new ScheduledTransmission(fileId, "Sat", window, "Station_" + (window + 1), start, end);
+    }
+
+    private static Schedule schedule(ScheduledTransmission... transmissions) {
+        Schedule schedule = new Schedule();
+        for (ScheduledTransmission transmission : transmissions) {
+            schedule.add(transmission);
+        }
+        return schedule;
+    }
+
+    private static void assertViolation(List<String> violations, String prefix) {
+        assertTrue(violations.stream().anyMatch(violation -> violation.startsWith(prefix)), prefix + " absent de " + violations);
+    }
+
+    @Test
+    void acceptsValidSchedule() {
+        Schedule schedule = schedule(at("A", 0, 60, 70), at("B", 0, 70, 75), at("C", 0, 75, 85));
+        assertEquals(List.of(), ScheduleValidator.validate(instance(1, 100), schedule));
+    }
+
+    @Test
+    void rejectsWrongDurationAndEarlyStart() {
+        List<String> violations = ScheduleValidator.validate(instance(1, 100),
+                schedule(at("A", 0, 60, 72), at("C", 0, 65, 75)));
+        assertViolation(violations, "A : durée 12 au lieu de 10");
+        assertViolation(violations, "C : début 65 avant la prise de vue");
+    }
+
+    @Test
+    void rejectsTransmissionOutsideWindowOrOnAnotherStation() {
+        List<String> violations = ScheduleValidator.validate(instance(1, 100), schedule(at("C", 0, 115, 125),
+                new ScheduledTransmission("A", "Sat", 0, "Station_2", 60, 70)));
+        assertViolation(violations, "C : hors de sa fenêtre");
+        assertViolation(violations, "A : station Station_2 différente");
+    }
+
+    @Test
+    void rejectsSuccessorStartingBeforePredecessorEnd() {
+        List<String> violations = ScheduleValidator.validate(instance(2, 100), schedule(at("A", 0, 60, 70), at("B", 0, 68, 73)));
+        assertViolation(violations, "B : débute avant la fin de son prédécesseur A");
+    }
+
+    @Test
+    void rejectsOverCapacityAndSimultaneousWindows() {
+        List<String> overCapacity = ScheduleValidator.validate(instance(1, 100), schedule(at("A", 0, 60, 70), at("C", 0, 70, 80), at("B", 0, 75, 80)));
+        assertViolation(overCapacity, "satellite Sat : 2 transmissions simultanées à 75");
+        assertViolation(overCapacity, "station Station_1 : 2 transmissions simultanées à 75");
+
+        List<String> twoWindows = ScheduleValidator.validate(instance(2, 100), schedule(at("A", 0, 60, 70), at("C", 1, 70, 80), at("B", 0, 75, 80)));
+        assertViolation(twoWindows, "satellite Sat : plusieurs fenêtres actives à 75");
+    }
+
+    // Un prédécesseur qui aurait pu être transmis manque ; s'il ne tient dans aucune fenêtre, il n'est
+    // exigé que lorsque les fichiers sont optionnels
+    @Test
+    void rejectsSuccessorWithoutTransmissiblePredecessor() {
+        Schedule onlyB = schedule(at("B", 0, 60, 65));
+        assertViolation(ScheduleValidator.validate(instance(1, 100), onlyB), "B : transmis sans son prédécesseur A");
+
+        assertEquals(List.of(), ScheduleValidator.validate(instance(1, 1000), onlyB));
+        assertViolation(ScheduleValidator.validate(instance(1, 1000), onlyB, true), "B : transmis sans son prédécesseur A");
+    }
+}
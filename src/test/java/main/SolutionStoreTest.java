@@ -0,0 +1,123 @@
+package main;
+
+import data.satellite.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolutionStoreTest {
+
+    private static CompiledInstance load(String name) {
+        return InstanceLoader.load("data/transmission/transmission_" + name + ".json", false);
+    }
+
+    private static List<Path> entries(Path directory) throws IOException {
+        try (Stream<Path> stream = Files.list(directory)) {
+            return stream.filter(path -> path.toString().endsWith(".sol")).sorted().toList();
+        }
+    }
+
+    private static Set<String> transmissions(Schedule schedule) {
+        Set<String> transmissions = new HashSet<>();
+        for (ScheduledTransmission transmission : schedule.getTransmissions()) {
+            transmissions.add(transmission.getFileId() + "@" + transmission.getWindowIndex() + ":" + transmission.getStart() + "-" + transmission.getEnd());
+        }
+        return transmissions;
+    }
+
+    // Copie de l'instance avec un autre débit pour chaque satellite, ou sans le fichier donné
+    private static CompiledInstance variant(CompiledInstance compiled, double satelliteRate, String removedFileId) {
+        TransmissionInstance instance = compiled.getInstance();
+        Satellite[] satellites = new Satellite[instance.getSatellites().length];
+        for (int k = 0; k < satellites.length; k++) {
+            Satellite satellite = instance.getSatellites()[k];
+            satellites[k] = new Satellite(satellite.getId(), satellite.getNbTransmissionChannels(), satelliteRate,
+                    Arrays.stream(satellite.getFiles()).filter(file -> !file.getId().equals(removedFileId)).toArray(data.satellite.File[]::new),
+                    satellite.getTransmissionWindows());
+        }
+        return CompiledInstance.compile(new TransmissionInstance(instance.getId(), instance.getStations(), satellites));
+    }
+
+    @Test
+    void roundTripsSchedule(@TempDir Path directory) {
+        CompiledInstance compiled = load("h");
+        Schedule schedule = new GreedyScheduler().solve(compiled);
+        SolutionStore store = new SolutionStore(directory, Long.MAX_VALUE);
+        assertNull(store.lookup(compiled));
+
+        store.save(compiled, schedule);
+        Schedule stored = store.lookup(compiled);
+        assertNotNull(stored);
+        assertEquals(transmissions(schedule), transmissions(stored));
+    }
+
+    // Une variante sans l'un des fichiers reprend le planning le plus proche, sans ce fichier
+    @Test
+    void closestVariantIsReused(@TempDir Path directory) {
+        CompiledInstance compiled = load("h");
+        Schedule schedule = new GreedyScheduler().solve(compiled);
+        SolutionStore store = new SolutionStore(directory, Long.MAX_VALUE);
+        store.save(load("a"), new GreedyScheduler().solve(load("a")));
+        store.save(compiled, schedule);
+
+        Schedule stored = store.lookup(variant(compiled, 0, "File_12"));
+        assertNotNull(stored);
+        Set<String> expected = transmissions(schedule);
+        expected.removeIf(transmission -> transmission.startsWith("File_12@"));
+        assertEquals(expected, transmissions(stored));
+    }
+
+    // Un débit différent change l'empreinte : l'instance n'est plus reconnue comme identique
+    @Test
+    void ratesArePartOfTheFingerprint(@TempDir Path directory) throws IOException {
+        CompiledInstance compiled = load("h");
+        SolutionStore store = new SolutionStore(directory, Long.MAX_VALUE);
+        store.save(compiled, new GreedyScheduler().solve(compiled));
+        CompiledInstance slower = variant(compiled, 1, null);
+        store.save(slower, new GreedyScheduler().solve(slower));
+        assertEquals(2, entries(directory).size());
+    }
+
+    // Au-delà de la taille maximale, le planning le moins récemment lu ou écrit est supprimé
+    @Test
+    void evictsLeastRecentlyUsed(@TempDir Path directory) throws IOException {
+        CompiledInstance a = load("a");
+        CompiledInstance b = load("b");
+        CompiledInstance c = load("c");
+        Path sizing = Files.createDirectory(directory.resolve("sizing"));
+        SolutionStore unbounded = new SolutionStore(sizing, Long.MAX_VALUE);
+        for (CompiledInstance compiled : List.of(a, b, c)) {
+            unbounded.save(compiled, new GreedyScheduler().solve(compiled));
+        }
+        long total = 0;
+        for (Path entry : entries(sizing)) {
+            total += Files.size(entry);
+        }
+
+        Path bounded = Files.createDirectory(directory.resolve("bounded"));
+        SolutionStore store = new SolutionStore(bounded, total - 1);
+        store.save(a, new GreedyScheduler().solve(a));
+        Path entryA = entries(bounded).get(0);
+        store.save(b, new GreedyScheduler().solve(b));
+        Path entryB = entries(bounded).stream().filter(entry -> !entry.equals(entryA)).findFirst().orElseThrow();
+        long now = System.currentTimeMillis();
+        Files.setLastModifiedTime(entryA, FileTime.fromMillis(now - 120_000));
+        Files.setLastModifiedTime(entryB, FileTime.fromMillis(now - 60_000));
+        // La lecture de a en fait le planning le plus récemment utilisé : b est le plus ancien
+        assertNotNull(store.lookup(a));
+        store.save(c, new GreedyScheduler().solve(c));
+
+        List<Path> kept = entries(bounded);
+        assertEquals(2, kept.size());
+        assertTrue(kept.contains(entryA));
+        assertFalse(kept.contains(entryB));
+    }
+}